@@ -0,0 +1,83 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.MarketBriefApp.service.external.model.NewsApiResponse;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+// representative upstream payloads, sized like real Alpha Vantage and NewsAPI answers
+public final class Fixtures {
+
+    public static final String JWT_SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    public static final String EMAIL = "bench@example.com";
+
+    public static final String OVERVIEW_JSON = """
+            {"Symbol":"IBM","AssetType":"Common Stock","Name":"International Business Machines",
+            "Description":"%s","CIK":"51143","Exchange":"NYSE","Currency":"USD","Country":"USA",
+            "Sector":"TECHNOLOGY","Industry":"COMPUTER & OFFICE EQUIPMENT","Address":"1 NEW ORCHARD ROAD, ARMONK, NY, US",
+            "FiscalYearEnd":"December","LatestQuarter":"2024-06-30","MarketCapitalization":"173400000000",
+            "EBITDA":"14600000000","PERatio":"20.9","PEGRatio":"4.43","BookValue":"25.73","DividendPerShare":"6.66",
+            "DividendYield":"0.0355","EPS":"8.99","RevenuePerShareTTM":"67.92","ProfitMargin":"0.132",
+            "OperatingMarginTTM":"0.161","ReturnOnAssetsTTM":"0.0462","ReturnOnEquityTTM":"0.362",
+            "RevenueTTM":"62360000000","GrossProfitTTM":"34300000000","DilutedEPSTTM":"8.99",
+            "QuarterlyEarningsGrowthYOY":"0.0","QuarterlyRevenueGrowthYOY":"0.019","AnalystTargetPrice":"180.71",
+            "TrailingPE":"20.9","ForwardPE":"17.83","PriceToSalesRatioTTM":"2.78","PriceToBookRatio":"7.3",
+            "EVToRevenue":"3.55","EVToEBITDA":"14.55","Beta":"0.703","52WeekHigh":"199.18","52WeekLow":"135.87",
+            "50DayMovingAverage":"178.62","200DayMovingAverage":"171.43","SharesOutstanding":"921889000",
+            "DividendDate":"2024-09-10","ExDividendDate":"2024-08-09"}
+            """.formatted("International Business Machines Corporation provides integrated solutions and services worldwide. ".repeat(12));
+
+    public static final String QUOTE_JSON = """
+            {"Global Quote":{"01. symbol":"IBM","02. open":"188.5000","03. high":"191.2500","04. low":"187.9100",
+            "05. price":"190.4700","06. volume":"4012345","07. latest trading day":"2024-08-02",
+            "08. previous close":"188.9000","09. change":"1.5700","10. change percent":"0.8311%"}}
+            """;
+
+    public static final String NEWS_JSON = newsJson(10);
+
+    public static final StockOverview OVERVIEW = StockOverview.builder()
+            .symbol("IBM").name("International Business Machines").description("Integrated solutions and services.")
+            .sector("TECHNOLOGY").industry("COMPUTER & OFFICE EQUIPMENT").currency("USD").exchange("NYSE").country("USA")
+            .week52High(199.18).week52Low(135.87).movingAverage50Day(178.62).movingAverage200Day(171.43)
+            .marketCapitalization(173.4e9).peRatio(20.9).priceToBookRatio(7.3).returnOnEquity(0.362).eps(8.99)
+            .dividendYield(0.0355).bookValue(25.73).analystTargetPrice(180.71)
+            .build();
+
+    public static final StockQuote QUOTE = StockQuote.builder()
+            .symbol("IBM").open(188.5).high(191.25).low(187.91).price(190.47).volume(4_012_345)
+            .previousClose(188.9).change(1.57).changePercent(0.8311)
+            .build();
+
+    public static final NewsApiResponse NEWS = news(10);
+
+    private Fixtures() {
+    }
+
+    private static NewsApiResponse news(int count) {
+        List<NewsApiResponse.Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(new NewsApiResponse.Article("IBM headline " + i,
+                    "IBM shares moved after the company reported quarterly results, article " + i + ".",
+                    "https://news.example.com/ibm/" + i, new NewsApiResponse.Source("Example Wire"),
+                    "2024-08-02T1" + (i % 10) + ":00:00Z"));
+        }
+        return new NewsApiResponse("ok", null, articles);
+    }
+
+    private static String newsJson(int count) {
+        StringBuilder json = new StringBuilder("{\"status\":\"ok\",\"totalResults\":").append(count).append(",\"articles\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"source\":{\"id\":null,\"name\":\"Example Wire\"},\"author\":\"Reporter ").append(i)
+                    .append("\",\"title\":\"IBM headline ").append(i)
+                    .append("\",\"description\":\"IBM shares moved after the company reported quarterly results.\",")
+                    .append("\"url\":\"https://news.example.com/ibm/").append(i)
+                    .append("\",\"urlToImage\":\"https://img.example.com/").append(i).append(".jpg\",")
+                    .append("\"publishedAt\":\"2024-08-02T10:00:00Z\",\"content\":\"")
+                    .append("Full article text that the news panel never shows. ".repeat(8)).append("\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
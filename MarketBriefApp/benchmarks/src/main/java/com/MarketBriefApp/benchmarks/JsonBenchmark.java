@@ -0,0 +1,69 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.NewsArticleResponseDto;
+import com.MarketBriefApp.dto.StockOverviewResponseDto;
+import com.MarketBriefApp.mapper.StockOverviewMapper;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// writing the BaseResponseDto envelopes our busiest endpoints return
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private BaseResponseDto<StockOverviewResponseDto> overviewResponse;
+    private BaseResponseDto<List<NewsArticleResponseDto>> newsResponse;
+    private byte[] overviewResponseJson;
+
+    @Setup
+    public void setUp() {
+        overviewResponse = BaseResponseDto.ok(
+                new StockOverviewMapper().toResponse("IBM", Fixtures.OVERVIEW, Fixtures.QUOTE, false), "ok");
+        newsResponse = BaseResponseDto.ok(Fixtures.NEWS.articles().stream()
+                .map(article -> NewsArticleResponseDto.builder()
+                        .title(article.title())
+                        .description(article.description())
+                        .url(article.url())
+                        .source(article.source().name())
+                        .publishedAt(article.publishedAt())
+                        .build())
+                .toList(), "ok");
+        overviewResponseJson = objectMapper.writeValueAsBytes(overviewResponse);
+    }
+
+    @Benchmark
+    public byte[] writeOverviewResponse() {
+        return objectMapper.writeValueAsBytes(overviewResponse);
+    }
+
+    @Benchmark
+    public byte[] writeNewsResponse() {
+        return objectMapper.writeValueAsBytes(newsResponse);
+    }
+
+    @Benchmark
+    public BaseResponseDto<?> readOverviewResponse() {
+        return objectMapper.readValue(overviewResponseJson, BaseResponseDto.class);
+    }
+}
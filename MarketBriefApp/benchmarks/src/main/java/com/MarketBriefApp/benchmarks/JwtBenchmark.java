@@ -0,0 +1,64 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.security.AuthenticatedUser;
+import com.MarketBriefApp.security.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+// signature check and claim extraction, run once per authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        user = new AuthenticatedUser(1L, Fixtures.EMAIL);
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", Fixtures.JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+}
@@ -0,0 +1,69 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.MarketBriefApp.security.AuthenticatedUser;
+import com.MarketBriefApp.security.CustomUserDetailsService;
+import com.MarketBriefApp.security.JwtAuthenticationFilter;
+import com.MarketBriefApp.security.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+// the whole filter for a request carrying a valid bearer token, with the principal
+// already in the cache the way it is for every request after a user's first
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtBenchmark.newJwtUtil();
+        AuthenticatedUser principal = new AuthenticatedUser(1L, Fixtures.EMAIL);
+        CustomUserDetailsService cachedPrincipals = new CustomUserDetailsService(null) {
+            @Override
+            public AuthenticatedUser loadPrincipal(String userEmail) {
+                return principal;
+            }
+        };
+        filter = new JwtAuthenticationFilter(jwtUtil, cachedPrincipals, new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stocks/IBM/overview");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
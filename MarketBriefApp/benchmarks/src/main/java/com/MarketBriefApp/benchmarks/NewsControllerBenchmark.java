@@ -0,0 +1,60 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.cache.Snapshot;
+import com.MarketBriefApp.controller.NewsController;
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.NewsArticleResponseDto;
+import com.MarketBriefApp.service.external.NewsExternalService;
+import com.MarketBriefApp.service.external.model.NewsApiResponse;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+// mapping a cached NewsAPI page into the article DTOs the news panel gets
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NewsControllerBenchmark {
+
+    private NewsController controller;
+
+    @Setup
+    public void setUp() {
+        NewsExternalService cachedNews = new NewsExternalService(null, null, null, null) {
+            @Override
+            public NewsApiResponse getStockNews(String symbol) {
+                return Fixtures.NEWS;
+            }
+
+            @Override
+            public Snapshot<NewsApiResponse> getStaleNews(String symbol, NewsApiResponse live) {
+                return null;
+            }
+        };
+        controller = new NewsController(cachedNews, null, null, new SymbolIndex());
+        ReflectionTestUtils.setField(controller, "newsRefreshAfter", Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public ResponseEntity<BaseResponseDto<List<NewsArticleResponseDto>>> getNews() {
+        return controller.getNews("IBM");
+    }
+}
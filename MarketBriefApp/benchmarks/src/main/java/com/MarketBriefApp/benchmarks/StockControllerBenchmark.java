@@ -0,0 +1,109 @@
+package com.MarketBriefApp.benchmarks;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.cache.Snapshot;
+import com.MarketBriefApp.controller.StockController;
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.StockOverviewRawResponseDto;
+import com.MarketBriefApp.dto.StockOverviewResponseDto;
+import com.MarketBriefApp.mapper.StockOverviewMapper;
+import com.MarketBriefApp.market.MarketCalendar;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.service.QuoteBatchService;
+import com.MarketBriefApp.service.external.StockExternalService;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// the overview endpoint with both upstreams answered from cache: the mapper on its
+// own, and the controller including the fan-out onto the upstream executor
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StockControllerBenchmark {
+
+    private final StockOverviewMapper mapper = new StockOverviewMapper();
+    private ExecutorService executor;
+    private StockController controller;
+
+    @Setup
+    public void setUp() {
+        StockExternalService cachedStocks = new StockExternalService(null, null, null, null, null, null, null) {
+            @Override
+            public StockOverview getStockOverview(String symbol) {
+                return Fixtures.OVERVIEW;
+            }
+
+            @Override
+            public StockQuote getStockQuote(String symbol) {
+                return Fixtures.QUOTE;
+            }
+
+            @Override
+            public Snapshot<StockOverview> getStaleOverview(String symbol, StockOverview live) {
+                return null;
+            }
+
+            @Override
+            public Snapshot<StockQuote> getStaleQuote(String symbol, StockQuote live) {
+                return null;
+            }
+        };
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        UpstreamMetrics metrics = new UpstreamMetrics(new SimpleMeterRegistry());
+        // an index without rejection accepts every symbol
+        SymbolIndex symbols = new SymbolIndex();
+        // no holidays configured, weekends and session hours still apply
+        MarketCalendar calendar = new MarketCalendar(symbols);
+        ReflectionTestUtils.setField(calendar, "closeGrace", Duration.ofMinutes(15));
+        controller = new StockController(cachedStocks, mapper, executor, metrics,
+                new QuoteBatchService(cachedStocks, executor, metrics, symbols), symbols, calendar);
+        ReflectionTestUtils.setField(controller, "closedMaxAge", Duration.ofHours(1));
+        ReflectionTestUtils.setField(controller, "overviewTimeoutMs", 4000L);
+        ReflectionTestUtils.setField(controller, "quoteTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(controller, "quoteRefreshAfter", Duration.ofSeconds(15));
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public StockOverviewResponseDto mapFormatted() {
+        return mapper.toResponse("IBM", Fixtures.OVERVIEW, Fixtures.QUOTE, false);
+    }
+
+    @Benchmark
+    public StockOverviewRawResponseDto mapRaw() {
+        return mapper.toRawResponse("IBM", Fixtures.OVERVIEW, Fixtures.QUOTE, false);
+    }
+
+    @Benchmark
+    public ResponseEntity<BaseResponseDto<?>> controllerOverview() {
+        return controller.getStockOverview("IBM", "formatted");
+    }
+}
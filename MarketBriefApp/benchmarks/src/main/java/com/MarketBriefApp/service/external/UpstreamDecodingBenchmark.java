@@ -0,0 +1,73 @@
+package com.MarketBriefApp.service.external;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.MarketBriefApp.benchmarks.Fixtures;
+import com.MarketBriefApp.service.external.model.NewsApiResponse;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// decoding upstream bodies into the cached records. lives in the service package
+// because AlphaVantageDecoder is package-private
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpstreamDecodingBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private byte[] overviewJson;
+    private byte[] quoteJson;
+    private byte[] newsJson;
+
+    @Setup
+    public void setUp() {
+        overviewJson = Fixtures.OVERVIEW_JSON.getBytes(StandardCharsets.UTF_8);
+        quoteJson = Fixtures.QUOTE_JSON.getBytes(StandardCharsets.UTF_8);
+        newsJson = Fixtures.NEWS_JSON.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public StockOverview decodeOverview() {
+        try (JsonParser parser = objectMapper.createParser(overviewJson)) {
+            return AlphaVantageDecoder.decodeOverview(parser, true);
+        }
+    }
+
+    @Benchmark
+    public StockOverview decodeOverviewWithoutDescription() {
+        try (JsonParser parser = objectMapper.createParser(overviewJson)) {
+            return AlphaVantageDecoder.decodeOverview(parser, false);
+        }
+    }
+
+    @Benchmark
+    public StockQuote decodeQuote() {
+        try (JsonParser parser = objectMapper.createParser(quoteJson)) {
+            return AlphaVantageDecoder.decodeQuote(parser);
+        }
+    }
+
+    @Benchmark
+    public NewsApiResponse decodeNews() {
+        return objectMapper.readValue(newsJson, NewsApiResponse.class);
+    }
+}
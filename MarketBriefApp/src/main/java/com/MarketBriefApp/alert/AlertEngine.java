@@ -0,0 +1,240 @@
+package com.MarketBriefApp.alert;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.MarketBriefApp.dto.AlertTriggeredDto;
+import com.MarketBriefApp.entity.AlertType;
+import com.MarketBriefApp.exception.QuotaExceededException;
+import com.MarketBriefApp.exception.UpstreamUnavailableException;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.repository.ActiveAlert;
+import com.MarketBriefApp.repository.PriceAlertRepository;
+import com.MarketBriefApp.service.external.StockExternalService;
+import com.MarketBriefApp.service.external.model.QuoteUpdatedEvent;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// evaluates every active alert against each quote as it arrives. alerts live in memory,
+// one ThresholdBook per symbol and alert type, so a quote costs a binary search per book
+// plus the alerts it actually triggers, however many rules exist for the symbol.
+// triggered alerts are marked in the database and pushed to their owner's streams off
+// the thread that delivered the quote
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertEngine {
+
+    private static final AlertType[] TYPES = AlertType.values();
+
+    @Value("${app.alerts.stream-timeout}")
+    private Duration streamTimeout;
+
+    @Value("${app.alerts.poll-batch}")
+    private int pollBatch;
+
+    @Value("${app.alerts.keep-daily-share}")
+    private double keepDailyShare;
+
+    private final PriceAlertRepository alertRepository;
+    private final StockExternalService stockService;
+    private final QuotaGovernor alphaVantageQuota;
+    private final ExecutorService upstreamExecutor;
+
+    private final ConcurrentMap<String, SymbolAlerts> symbols = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private int pollOffset;
+
+    // runs before the web server accepts requests, so no alert created through the API is loaded twice
+    @PostConstruct
+    void loadActiveAlerts() {
+        List<ActiveAlert> active = alertRepository.findAllActive();
+        for (ActiveAlert alert : active) {
+            SymbolAlerts books = symbols.computeIfAbsent(alert.symbol(), s -> new SymbolAlerts());
+            books.book(alert.type()).append(key(alert.type(), alert.threshold()), alert.id(), alert.userId());
+        }
+        for (SymbolAlerts books : symbols.values()) {
+            for (ThresholdBook book : books.books) {
+                book.sort();
+            }
+        }
+        log.info("Loaded {} active alerts across {} symbols", active.size(), symbols.size());
+    }
+
+    public void add(ActiveAlert alert) {
+        SymbolAlerts books = symbols.computeIfAbsent(alert.symbol(), s -> new SymbolAlerts());
+        synchronized (books) {
+            books.book(alert.type()).add(key(alert.type(), alert.threshold()), alert.id(), alert.userId());
+        }
+
+        // an alert that is already crossed fires on the quote we have instead of waiting for the next one
+        StockQuote cached = stockService.getCachedQuote(alert.symbol());
+        if (cached != null && cached.isFound()) {
+            evaluate(alert.symbol(), cached);
+        }
+    }
+
+    public void remove(String symbol, AlertType type, long alertId) {
+        SymbolAlerts books = symbols.get(symbol);
+        if (books == null) return;
+        synchronized (books) {
+            books.book(type).remove(alertId);
+        }
+    }
+
+    @EventListener
+    public void onQuoteUpdated(QuoteUpdatedEvent event) {
+        evaluate(event.symbol(), event.quote());
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>());
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(userId, emitter));
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    // symbols with alerts are refreshed a few at a time, round robin, at background priority
+    // so polling never takes the interactive reserve. a symbol whose quote is still cached
+    // costs nothing, a closed market is answered from the snapshot, and a fetched quote is
+    // published back to onQuoteUpdated. the round stops as soon as the quota or circuit
+    // refuses, and polling pauses while the day's remaining budget is at keep-daily-share
+    @Scheduled(fixedDelayString = "${app.alerts.poll-interval-ms}")
+    public void pollAlertSymbols() {
+        List<String> watched = new ArrayList<>();
+        symbols.forEach((symbol, books) -> {
+            if (books.size() > 0) watched.add(symbol);
+        });
+        if (watched.isEmpty()) return;
+
+        int count = Math.min(pollBatch, watched.size());
+        List<String> batch = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            batch.add(watched.get((pollOffset + i) % watched.size()));
+        }
+        pollOffset = (pollOffset + count) % watched.size();
+        upstreamExecutor.execute(() -> poll(batch));
+    }
+
+    private void poll(List<String> batch) {
+        for (String symbol : batch) {
+            if (stockService.getCachedQuote(symbol) != null) continue;
+            if (alphaVantageQuota.getPerDay() > 0
+                    && alphaVantageQuota.remainingToday() <= alphaVantageQuota.getPerDay() * keepDailyShare) return;
+            try {
+                stockService.getStockQuoteInBackground(symbol);
+            } catch (QuotaExceededException | UpstreamUnavailableException e) {
+                log.debug("Alert poll stopped: {}", e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Alert poll for {} failed: {}", symbol, e.getMessage());
+            }
+        }
+    }
+
+    void evaluate(String symbol, StockQuote quote) {
+        SymbolAlerts books = symbols.get(symbol);
+        if (books == null) return;
+
+        List<AlertTriggeredDto> triggered = new ArrayList<>();
+        List<Long> userIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (books) {
+            for (AlertType type : TYPES) {
+                double value = type.isPercent() ? quote.changePercent() : quote.price();
+                books.book(type).drainReached(key(type, value), (alertId, userId, key) -> {
+                    triggered.add(AlertTriggeredDto.builder()
+                            .alertId(alertId)
+                            .symbol(symbol)
+                            .type(type)
+                            .threshold(type.isAbove() ? key : -key)
+                            .value(value)
+                            .triggeredAt(now)
+                            .build());
+                    userIds.add(userId);
+                });
+            }
+        }
+
+        if (!triggered.isEmpty()) {
+            upstreamExecutor.execute(() -> dispatch(triggered, userIds, now));
+        }
+    }
+
+    private void dispatch(List<AlertTriggeredDto> triggered, List<Long> userIds, LocalDateTime at) {
+        try {
+            alertRepository.markTriggered(triggered.stream().map(AlertTriggeredDto::getAlertId).toList(), at);
+        } catch (Exception e) {
+            // the alerts are already out of memory, they fire again only after a restart
+            log.warn("Failed to mark {} alerts as triggered: {}", triggered.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < triggered.size(); i++) {
+            List<SseEmitter> emitters = subscribers.get(userIds.get(i));
+            if (emitters == null) continue;
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().name("alert").data(triggered.get(i)));
+                } catch (IOException | IllegalStateException e) {
+                    emitters.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    // books fire on key <= probe, "below" alerts flip the sign to fit that rule
+    private static double key(AlertType type, double value) {
+        return type.isAbove() ? value : -value;
+    }
+
+    private static final class SymbolAlerts {
+        private final ThresholdBook[] books = new ThresholdBook[TYPES.length];
+
+        private SymbolAlerts() {
+            for (int i = 0; i < books.length; i++) {
+                books[i] = new ThresholdBook();
+            }
+        }
+
+        private ThresholdBook book(AlertType type) {
+            return books[type.ordinal()];
+        }
+
+        private int size() {
+            synchronized (this) {
+                int size = 0;
+                for (ThresholdBook book : books) {
+                    size += book.size();
+                }
+                return size;
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.MarketBriefApp.alert;
+
+import java.util.Arrays;
+
+// the untriggered alerts of one symbol and one direction in parallel primitive arrays,
+// sorted by key from highest to lowest. an alert fires once the probed value reaches its
+// key, so everything that fires on a tick is a tail of the arrays: a binary search finds
+// where it starts and the book shrinks past it without moving the rest.
+// "below" alerts store negated thresholds and are probed with the negated value, which
+// lets both directions share this one layout. not thread-safe, callers lock per symbol
+final class ThresholdBook {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private double[] keys = new double[INITIAL_CAPACITY];
+    private long[] alertIds = new long[INITIAL_CAPACITY];
+    private long[] userIds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void add(double key, long alertId, long userId) {
+        ensureCapacity(size + 1);
+        int at = insertionPoint(key);
+        int tail = size - at;
+        if (tail > 0) {
+            System.arraycopy(keys, at, keys, at + 1, tail);
+            System.arraycopy(alertIds, at, alertIds, at + 1, tail);
+            System.arraycopy(userIds, at, userIds, at + 1, tail);
+        }
+        keys[at] = key;
+        alertIds[at] = alertId;
+        userIds[at] = userId;
+        size++;
+    }
+
+    // appends without keeping the order, sort() has to run before the next probe.
+    // used for the startup load, where one sort beats a shifting insert per row
+    void append(double key, long alertId, long userId) {
+        ensureCapacity(size + 1);
+        keys[size] = key;
+        alertIds[size] = alertId;
+        userIds[size] = userId;
+        size++;
+    }
+
+    void sort() {
+        quickSort(0, size - 1);
+    }
+
+    boolean remove(long alertId) {
+        for (int i = 0; i < size; i++) {
+            if (alertIds[i] == alertId) {
+                int tail = size - i - 1;
+                System.arraycopy(keys, i + 1, keys, i, tail);
+                System.arraycopy(alertIds, i + 1, alertIds, i, tail);
+                System.arraycopy(userIds, i + 1, userIds, i, tail);
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // removes every alert with key <= value and hands it to the sink, O(log n + k)
+    void drainReached(double value, Sink sink) {
+        if (size == 0 || Double.isNaN(value) || keys[size - 1] > value) return;
+
+        int from = firstReached(value);
+        for (int i = from; i < size; i++) {
+            sink.accept(alertIds[i], userIds[i], keys[i]);
+        }
+        size = from;
+    }
+
+    // first index whose key is <= value
+    private int firstReached(double value) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] <= value) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // after all keys that are >= key, so equal thresholds keep their insertion order
+    private int insertionPoint(double key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid] >= key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) return;
+        int grown = Math.max(capacity, keys.length + (keys.length >> 1));
+        keys = Arrays.copyOf(keys, grown);
+        alertIds = Arrays.copyOf(alertIds, grown);
+        userIds = Arrays.copyOf(userIds, grown);
+    }
+
+    // descending quicksort over the three arrays at once, no boxing or index arrays
+    private void quickSort(int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                insertionSort(low, high);
+                return;
+            }
+            double pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] > pivot) i++;
+                while (keys[j] < pivot) j--;
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // recurse into the smaller half so the stack stays O(log n)
+            if (j - low < high - i) {
+                quickSort(low, j);
+                low = i;
+            } else {
+                quickSort(i, high);
+                high = j;
+            }
+        }
+    }
+
+    private void insertionSort(int low, int high) {
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && keys[j - 1] < keys[j]; j--) {
+                swap(j - 1, j);
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        double key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long alertId = alertIds[a];
+        alertIds[a] = alertIds[b];
+        alertIds[b] = alertId;
+        long userId = userIds[a];
+        userIds[a] = userIds[b];
+        userIds[b] = userId;
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(long alertId, long userId, double key);
+    }
+}
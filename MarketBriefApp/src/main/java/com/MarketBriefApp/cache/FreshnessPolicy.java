@@ -0,0 +1,12 @@
+package com.MarketBriefApp.cache;
+
+// tells a snapshot-backed cache whether the upstream can have anything newer for a key
+// than the value fetched at fetchedAt (epoch millis). while it cannot, loads and
+// refreshes are answered from the snapshot without an upstream call
+@FunctionalInterface
+public interface FreshnessPolicy {
+
+    FreshnessPolicy ALWAYS = (key, fetchedAt) -> true;
+
+    boolean mayHaveChanged(String key, long fetchedAt);
+}
@@ -0,0 +1,135 @@
+package com.MarketBriefApp.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import com.MarketBriefApp.quota.Priority;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+// size-bounded cache in front of an upstream lookup. entries past their refresh age
+// are still served while a background reload replaces them, responses the predicate
+// rejects (rate-limit notes, errors) are handed back but never kept
+public class RefreshingCache<V> {
+
+    private final String name;
+    private final LoadingCache<String, V> cache;
+    private final Predicate<V> cacheable;
+    private final SnapshotTable<V> snapshots;
+    private final BiFunction<String, Priority, V> fetcher;
+    private final FreshnessPolicy freshness;
+
+    RefreshingCache(String name, LoadingCache<String, V> cache, Predicate<V> cacheable, SnapshotTable<V> snapshots,
+            BiFunction<String, Priority, V> fetcher, FreshnessPolicy freshness) {
+        this.name = name;
+        this.cache = cache;
+        this.cacheable = cacheable;
+        this.snapshots = snapshots;
+        this.fetcher = fetcher;
+        this.freshness = freshness;
+    }
+
+    public V get(String key) {
+        V value = cache.get(key);
+        if (value != null && !cacheable.test(value)) {
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    public V getIfPresent(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // the snapshot a caller should answer with instead of, or as, the live result: the
+    // last-known-good value when the live one is missing or unusable, the restored value
+    // itself while no fetch has replaced it yet and the upstream may have moved on. null
+    // when live is fresh from upstream or the cache keeps no snapshots
+    public Snapshot<V> staleSnapshot(String key, V live) {
+        if (snapshots == null) return null;
+        Snapshot<V> snapshot = snapshots.get(key);
+        if (snapshot == null) return null;
+        if (live == null || !cacheable.test(live)) return snapshot;
+        return snapshot.value() == live && snapshots.isRestored(snapshot)
+                && freshness.mayHaveChanged(key, snapshot.savedAt()) ? snapshot : null;
+    }
+
+    // fetches the key ahead of demand when it is missing or will expire within lead, but
+    // never before its refresh age. runs on the calling thread at background priority, so
+    // a spent quota throws instead of queueing. true when the key was fetched, which for a
+    // snapshot-backed cache may have been answered from the snapshot. a cache whose entries
+    // are within lead of expiring by the time they may refresh is never prewarmed: every
+    // round would refetch it at its refresh age, for a value that is gone soon after
+    public boolean prewarm(String key, Duration lead) {
+        if (!worthPrewarming(lead)) return false;
+
+        Policy<String, V> policy = cache.policy();
+        Optional<Duration> age = policy.expireAfterWrite().flatMap(expiry -> expiry.ageOf(key));
+        if (age.isPresent() && age.get().compareTo(policy.expireAfterWrite().get().getExpiresAfter().minus(lead)) < 0) {
+            return false;
+        }
+
+        loadInBackground(key);
+        return true;
+    }
+
+    // true when an entry outlives its refresh age by more than lead
+    public boolean worthPrewarming(Duration lead) {
+        Policy<String, V> policy = cache.policy();
+        Optional<Duration> expiresAfter = policy.expireAfterWrite().map(expiry -> expiry.getExpiresAfter());
+        if (expiresAfter.isEmpty()) return false;
+        Duration refreshesAfter = policy.refreshAfterWrite().map(refresh -> refresh.getRefreshesAfter())
+                .orElse(Duration.ZERO);
+        return expiresAfter.get().minus(refreshesAfter).compareTo(lead) > 0;
+    }
+
+    // fetches the key at background priority on the calling thread and keeps a usable
+    // result, for callers that must not spend the interactive budget on a miss
+    public V loadInBackground(String key) {
+        V value = fetcher.apply(key, Priority.BACKGROUND);
+        if (value != null && cacheable.test(value)) {
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    LoadingCache<String, V> nativeCache() {
+        return cache;
+    }
+
+    // misses block a user so they load interactively, refreshes of stale entries do not
+    static <V> CacheLoader<String, V> loader(BiFunction<String, Priority, V> fetcher, Predicate<V> cacheable) {
+        return new CacheLoader<>() {
+            @Override
+            public V load(String key) {
+                return fetcher.apply(key, Priority.INTERACTIVE);
+            }
+
+            @Override
+            public V reload(String key, V oldValue) {
+                V fresh = fetcher.apply(key, Priority.BACKGROUND);
+                if (fresh == null || !cacheable.test(fresh)) {
+                    // keeps the stale entry without extending its lifetime
+                    throw new IllegalStateException("Upstream returned no usable data for " + key);
+                }
+                return fresh;
+            }
+        };
+    }
+}
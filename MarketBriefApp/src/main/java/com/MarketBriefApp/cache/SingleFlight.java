@@ -0,0 +1,89 @@
+package com.MarketBriefApp.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// collapses concurrent calls for the same key into one upstream call,
+// every caller that arrives while it is running gets the same result
+public class SingleFlight<V> {
+
+    private final String name;
+    private final ConcurrentMap<String, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder callersServed = new LongAdder();
+    private final AtomicInteger maxCallersPerCall = new AtomicInteger();
+
+    SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public V execute(String key, Supplier<V> upstreamCall) {
+        Call<V> mine = new Call<>();
+        Call<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            running.callers.incrementAndGet();
+            return await(running.result);
+        }
+
+        try {
+            V value = upstreamCall.get();
+            mine.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // errors too, a waiter on a future nobody completes would block forever
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+            int callers = mine.callers.get();
+            upstreamCalls.increment();
+            callersServed.add(callers);
+            maxCallersPerCall.accumulateAndGet(callers, Math::max);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public long upstreamCalls() {
+        return upstreamCalls.sum();
+    }
+
+    public long callersServed() {
+        return callersServed.sum();
+    }
+
+    public int maxCallersPerCall() {
+        return maxCallersPerCall.get();
+    }
+
+    private V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Call<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+    }
+}
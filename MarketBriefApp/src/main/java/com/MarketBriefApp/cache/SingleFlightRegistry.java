@@ -0,0 +1,22 @@
+package com.MarketBriefApp.cache;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class SingleFlightRegistry {
+
+    private final ConcurrentMap<String, SingleFlight<?>> groups = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <V> SingleFlight<V> create(String name) {
+        return (SingleFlight<V>) groups.computeIfAbsent(name, SingleFlight::new);
+    }
+
+    public Collection<SingleFlight<?>> getAll() {
+        return groups.values();
+    }
+}
@@ -0,0 +1,13 @@
+package com.MarketBriefApp.cache;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// the last usable upstream result for a key and when it was fetched (epoch millis)
+public record Snapshot<V>(V value, long savedAt) {
+
+    public LocalDateTime asOf() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(savedAt), ZoneId.systemDefault());
+    }
+}
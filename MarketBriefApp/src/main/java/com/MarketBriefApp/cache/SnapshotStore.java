@@ -0,0 +1,106 @@
+package com.MarketBriefApp.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.JavaType;
+import tools.jackson.databind.ObjectMapper;
+
+// persists the last good upstream result per key as one gzipped JSON file per cache
+// under app.snapshot.dir, so a restart starts from yesterday's data instead of an
+// empty cache. files are rewritten whole (write to a temp file, then rename) every
+// flush interval when something changed, and once more on shutdown
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotStore {
+
+    @Value("${app.snapshot.dir}")
+    private Path dir;
+
+    @Value("${app.snapshot.max-age}")
+    private Duration maxAge;
+
+    private final ObjectMapper objectMapper;
+    private final List<SnapshotTable<?>> tables = new CopyOnWriteArrayList<>();
+
+    public <V> SnapshotTable<V> open(String name, Class<V> type, long maxSize) {
+        SnapshotTable<V> table = new SnapshotTable<>(name, type, maxSize);
+        Path file = file(name);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            Map<String, Snapshot<V>> saved = objectMapper.readValue(in, mapType(type));
+            long oldest = System.currentTimeMillis() - maxAge.toMillis();
+            Map<String, Snapshot<V>> fresh = new HashMap<>();
+            saved.forEach((key, snapshot) -> {
+                if (snapshot.value() != null && snapshot.savedAt() >= oldest) fresh.put(key, snapshot);
+            });
+            table.restore(fresh);
+            log.info("Restored {} of {} {} snapshots", fresh.size(), saved.size(), name);
+        } catch (NoSuchFileException e) {
+            log.debug("No {} snapshot yet", name);
+        } catch (IOException | RuntimeException e) {
+            // a damaged file costs a cold start for this cache, nothing more
+            log.warn("Ignoring unreadable {} snapshot: {}", name, e.getMessage());
+        }
+        tables.add(table);
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${app.snapshot.flush-interval-ms}")
+    public void flush() {
+        for (SnapshotTable<?> table : tables) {
+            write(table);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        flush();
+    }
+
+    private void write(SnapshotTable<?> table) {
+        Map<String, ? extends Snapshot<?>> entries = table.drainForFlush();
+        if (entries == null) return;
+
+        Path file = file(table.getName());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(dir);
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                objectMapper.writerFor(mapType(table.getType())).writeValue(out, entries);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write {} snapshot: {}", table.getName(), e.getMessage());
+        }
+    }
+
+    private JavaType mapType(Class<?> type) {
+        JavaType snapshot = objectMapper.getTypeFactory().constructParametricType(Snapshot.class, type);
+        return objectMapper.getTypeFactory().constructMapType(Map.class,
+                objectMapper.getTypeFactory().constructType(String.class), snapshot);
+    }
+
+    private Path file(String name) {
+        return dir.resolve(name + ".json.gz");
+    }
+}
@@ -0,0 +1,74 @@
+package com.MarketBriefApp.cache;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+// last-known-good results of one cache, kept in memory and written to disk by SnapshotStore.
+// entries read from disk at startup are "restored" until a live fetch replaces them
+public class SnapshotTable<V> {
+
+    private final String name;
+    private final Class<V> type;
+    private final long maxSize;
+    private final long loadedAt = System.currentTimeMillis();
+    private final Map<String, Snapshot<V>> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty;
+
+    SnapshotTable(String name, Class<V> type, long maxSize) {
+        this.name = name;
+        this.type = type;
+        this.maxSize = maxSize;
+    }
+
+    public Snapshot<V> get(String key) {
+        return entries.get(key);
+    }
+
+    public void put(String key, V value) {
+        entries.put(key, new Snapshot<>(value, System.currentTimeMillis()));
+        dirty = true;
+    }
+
+    public void forEach(BiConsumer<String, Snapshot<V>> action) {
+        entries.forEach(action);
+    }
+
+    // true while the value is the one read from disk, i.e. not fetched by this process
+    public boolean isRestored(Snapshot<V> snapshot) {
+        return snapshot.savedAt() < loadedAt;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Class<V> getType() {
+        return type;
+    }
+
+    void restore(Map<String, Snapshot<V>> saved) {
+        entries.putAll(saved);
+    }
+
+    // the entries to write, or null when nothing changed since the last flush.
+    // the oldest entries beyond maxSize are dropped here rather than on every put
+    Map<String, Snapshot<V>> drainForFlush() {
+        if (!dirty) return null;
+        dirty = false;
+        if (entries.size() > maxSize) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().savedAt()))
+                    .limit(entries.size() - maxSize)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+        return Map.copyOf(entries);
+    }
+}
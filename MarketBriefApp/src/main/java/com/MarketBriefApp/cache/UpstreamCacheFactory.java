@@ -0,0 +1,98 @@
+package com.MarketBriefApp.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.quota.Priority;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class UpstreamCacheFactory {
+
+    private final CaffeineCacheManager cacheManager;
+    private final ExecutorService upstreamExecutor;
+    private final MeterRegistry meterRegistry;
+    private final SnapshotStore snapshotStore;
+
+    public <V> RefreshingCache<V> create(String name, Duration refreshAfter, Duration expireAfter, long maximumSize,
+            BiFunction<String, Priority, V> fetcher, Predicate<V> cacheable) {
+        LoadingCache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .executor(upstreamExecutor)
+                .recordStats()
+                .build(RefreshingCache.loader(fetcher, cacheable));
+
+        register(name, cache);
+        return new RefreshingCache<>(name, cache, cacheable, null, fetcher, FreshnessPolicy.ALWAYS);
+    }
+
+    // same, but every usable result is also kept as the key's last-known-good snapshot and
+    // persisted. snapshots younger than max-age are put back at startup, where they count
+    // as freshly written: the first request serves them and a background refresh (throttled
+    // like any other) replaces them, instead of every key missing at once after a deploy
+    public <V> RefreshingCache<V> create(String name, Duration refreshAfter, Duration expireAfter, long maximumSize,
+            BiFunction<String, Priority, V> fetcher, Predicate<V> cacheable, Class<V> type) {
+        return create(name, refreshAfter, expireAfter, maximumSize, fetcher, cacheable, type, FreshnessPolicy.ALWAYS);
+    }
+
+    // with a freshness policy, a load or refresh of a key whose snapshot the policy calls
+    // current is answered from the snapshot, so expiry and refresh cost no upstream call
+    // while the upstream has nothing new (a closed market)
+    public <V> RefreshingCache<V> create(String name, Duration refreshAfter, Duration expireAfter, long maximumSize,
+            BiFunction<String, Priority, V> fetcher, Predicate<V> cacheable, Class<V> type, FreshnessPolicy freshness) {
+        SnapshotTable<V> snapshots = snapshotStore.open(name, type, maximumSize);
+        BiFunction<String, Priority, V> recording = (key, priority) -> {
+            Snapshot<V> last = snapshots.get(key);
+            if (last != null && !freshness.mayHaveChanged(key, last.savedAt())) return last.value();
+
+            V value = fetcher.apply(key, priority);
+            if (value != null && cacheable.test(value)) snapshots.put(key, value);
+            return value;
+        };
+
+        LoadingCache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfterWrite(expireAfter)
+                .executor(upstreamExecutor)
+                .recordStats()
+                .build(RefreshingCache.loader(recording, cacheable));
+        snapshots.forEach((key, snapshot) -> cache.put(key, snapshot.value()));
+
+        register(name, cache);
+        return new RefreshingCache<>(name, cache, cacheable, snapshots, recording, freshness);
+    }
+
+    // plain expiring cache for results that cannot be reloaded from the key alone
+    public <V> Cache<String, V> create(String name, Duration expireAfter, long maximumSize) {
+        Cache<String, V> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfter)
+                .recordStats()
+                .build();
+
+        register(name, cache);
+        return cache;
+    }
+
+    // same tags Boot uses for manager caches, so a cache bound twice maps onto the same meters
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void register(String name, Cache<String, ?> cache) {
+        cacheManager.registerCustomCache(name, (Cache) cache);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name, "cache.manager", "cacheManager");
+    }
+}
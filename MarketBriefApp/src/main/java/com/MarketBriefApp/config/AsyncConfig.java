@@ -0,0 +1,17 @@
+package com.MarketBriefApp.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// executors used to fan out blocking upstream calls
+@Configuration
+public class AsyncConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService upstreamExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
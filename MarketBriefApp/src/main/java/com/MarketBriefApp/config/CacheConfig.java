@@ -0,0 +1,31 @@
+package com.MarketBriefApp.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// upstream caches register themselves here so they show up next to any @Cacheable ones
+@Configuration
+public class CacheConfig {
+
+    public static final String PRINCIPAL_CACHE = "principals";
+
+    @Bean
+    public CaffeineCacheManager cacheManager(
+            @Value("${app.cache.principal.expire-after}") Duration principalExpireAfter,
+            @Value("${app.cache.principal.max-size}") long principalMaxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRINCIPAL_CACHE, Caffeine.newBuilder()
+                .expireAfterWrite(principalExpireAfter)
+                .maximumSize(principalMaxSize)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -2,8 +2,10 @@ package com.MarketBriefApp.config;
 
 import org.springframework.context.annotation.Configuration;
 import io.github.cdimascio.dotenv.Dotenv;
+import lombok.extern.slf4j.Slf4j;
 
 //loads environment variables from .env file
+@Slf4j
 @Configuration
 public class EnvConfig {
     
@@ -19,7 +21,7 @@ public class EnvConfig {
                 System.setProperty(entry.getKey(), entry.getValue())
             );
         } catch (Exception e) {
-            System.err.println("Warning: Could not load .env file.");
+            log.warn("Could not load .env file.");
         }
     }
 }
@@ -0,0 +1,63 @@
+package com.MarketBriefApp.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.MarketBriefApp.quota.QuotaGovernor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// request budgets for the free tiers of each upstream provider
+@Configuration
+public class QuotaConfig {
+
+    @Bean
+    public QuotaGovernor alphaVantageQuota(
+            @Value("${app.quota.alpha-vantage.per-minute}") int perMinute,
+            @Value("${app.quota.alpha-vantage.per-day}") int perDay,
+            @Value("${app.quota.max-wait}") Duration maxWait,
+            @Value("${app.quota.background-reserve}") double backgroundReserve) {
+        return new QuotaGovernor("Alpha Vantage", perMinute, perDay, maxWait, backgroundReserve);
+    }
+
+    @Bean
+    public QuotaGovernor newsApiQuota(
+            @Value("${app.quota.news-api.per-minute}") int perMinute,
+            @Value("${app.quota.news-api.per-day}") int perDay,
+            @Value("${app.quota.max-wait}") Duration maxWait,
+            @Value("${app.quota.background-reserve}") double backgroundReserve) {
+        return new QuotaGovernor("NewsAPI", perMinute, perDay, maxWait, backgroundReserve);
+    }
+
+    @Bean
+    public QuotaGovernor groqQuota(
+            @Value("${app.quota.groq.per-minute}") int perMinute,
+            @Value("${app.quota.groq.per-day}") int perDay,
+            @Value("${app.quota.max-wait}") Duration maxWait,
+            @Value("${app.quota.background-reserve}") double backgroundReserve) {
+        return new QuotaGovernor("Groq", perMinute, perDay, maxWait, backgroundReserve);
+    }
+
+    @Bean
+    public MeterBinder quotaMetrics(List<QuotaGovernor> governors) {
+        return registry -> governors.forEach(governor -> {
+            FunctionCounter.builder("quota.rejections", governor, QuotaGovernor::rejectedCount)
+                    .description("Upstream requests refused by the local quota")
+                    .tag("upstream", governor.getName())
+                    .register(registry);
+            // budgets without a daily cap have nothing to count down
+            if (governor.remainingToday() != Integer.MAX_VALUE) {
+                Gauge.builder("quota.remaining.today", governor, QuotaGovernor::remainingToday)
+                        .description("Upstream requests left in today's budget")
+                        .tag("upstream", governor.getName())
+                        .register(registry);
+            }
+        });
+    }
+}
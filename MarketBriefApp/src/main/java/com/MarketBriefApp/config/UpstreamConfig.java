@@ -0,0 +1,111 @@
+package com.MarketBriefApp.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import com.MarketBriefApp.gateway.CircuitBreaker;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// every upstream provider goes through one JDK HttpClient, which keeps connections alive
+// in its own pool and speaks HTTP/2 where the provider offers it. each provider gets its
+// own read timeout, bulkhead and circuit breaker on top of that shared client
+@Configuration
+public class UpstreamConfig {
+
+    @Value("${app.upstream.bulkhead.max-wait}")
+    private Duration bulkheadMaxWait;
+
+    @Value("${app.upstream.circuit.failure-threshold}")
+    private int failureThreshold;
+
+    @Value("${app.upstream.circuit.open-duration}")
+    private Duration openDuration;
+
+    @Bean(destroyMethod = "close")
+    public HttpClient upstreamHttpClient(@Value("${app.upstream.connect-timeout}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public UpstreamClient alphaVantageClient(HttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics,
+            @Value("${app.upstream.alpha-vantage.read-timeout}") Duration readTimeout,
+            @Value("${app.upstream.alpha-vantage.max-concurrent}") int maxConcurrent) {
+        return client("alphaVantage", upstreamHttpClient, upstreamMetrics, readTimeout, maxConcurrent);
+    }
+
+    @Bean
+    public UpstreamClient newsApiClient(HttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics,
+            @Value("${app.upstream.news-api.read-timeout}") Duration readTimeout,
+            @Value("${app.upstream.news-api.max-concurrent}") int maxConcurrent) {
+        return client("newsApi", upstreamHttpClient, upstreamMetrics, readTimeout, maxConcurrent);
+    }
+
+    @Bean
+    public UpstreamClient groqClient(HttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics,
+            @Value("${app.upstream.groq.read-timeout}") Duration readTimeout,
+            @Value("${app.upstream.groq.max-concurrent}") int maxConcurrent) {
+        return client("groq", upstreamHttpClient, upstreamMetrics, readTimeout, maxConcurrent);
+    }
+
+    @Bean
+    public UpstreamClient yahooClient(HttpClient upstreamHttpClient, UpstreamMetrics upstreamMetrics,
+            @Value("${app.upstream.yahoo.read-timeout}") Duration readTimeout,
+            @Value("${app.upstream.yahoo.max-concurrent}") int maxConcurrent) {
+        return client("yahoo", upstreamHttpClient, upstreamMetrics, readTimeout, maxConcurrent);
+    }
+
+    @Bean
+    public MeterBinder upstreamClientMetrics(List<UpstreamClient> clients) {
+        return registry -> clients.forEach(client -> {
+            Gauge.builder("upstream.circuit.open", client,
+                            c -> c.getCircuitBreaker().state() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                    .description("1 while the provider's circuit breaker is open or half open")
+                    .tag("upstream", client.getName())
+                    .register(registry);
+            FunctionCounter.builder("upstream.circuit.opened", client, c -> c.getCircuitBreaker().openedCount())
+                    .description("Times the provider's circuit breaker opened")
+                    .tag("upstream", client.getName())
+                    .register(registry);
+            Gauge.builder("upstream.in.flight", client, UpstreamClient::inFlight)
+                    .description("Calls currently holding a bulkhead slot")
+                    .tag("upstream", client.getName())
+                    .register(registry);
+            FunctionCounter.builder("upstream.rejections", client, UpstreamClient::circuitRejections)
+                    .description("Calls refused locally by the gateway")
+                    .tag("upstream", client.getName())
+                    .tag("reason", "circuit")
+                    .register(registry);
+            FunctionCounter.builder("upstream.rejections", client, UpstreamClient::bulkheadRejections)
+                    .description("Calls refused locally by the gateway")
+                    .tag("upstream", client.getName())
+                    .tag("reason", "bulkhead")
+                    .register(registry);
+        });
+    }
+
+    // the read timeout bounds the wait for response headers, a streamed body may take longer
+    private UpstreamClient client(String name, HttpClient httpClient, UpstreamMetrics upstreamMetrics,
+            Duration readTimeout, int maxConcurrent) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        RestClient restClient = RestClient.builder().requestFactory(requestFactory).build();
+        return new UpstreamClient(name, restClient, upstreamMetrics, maxConcurrent, bulkheadMaxWait,
+                new CircuitBreaker(failureThreshold, openDuration));
+    }
+}
@@ -0,0 +1,101 @@
+package com.MarketBriefApp.controller;
+
+import com.MarketBriefApp.alert.AlertEngine;
+import com.MarketBriefApp.dto.AlertRequestDto;
+import com.MarketBriefApp.dto.AlertResponseDto;
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.entity.PriceAlert;
+import com.MarketBriefApp.repository.ActiveAlert;
+import com.MarketBriefApp.repository.PriceAlertRepository;
+import com.MarketBriefApp.repository.UserRepository;
+import com.MarketBriefApp.security.AuthenticatedUser;
+import com.MarketBriefApp.symbols.SymbolIndex;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+
+    private final PriceAlertRepository alertRepository;
+    private final UserRepository userRepository;
+    private final AlertEngine alertEngine;
+    private final SymbolIndex symbolIndex;
+
+    @Value("${app.alerts.max-per-user}")
+    private int maxPerUser;
+
+    @GetMapping
+    public ResponseEntity<BaseResponseDto<List<AlertResponseDto>>> getAlerts() {
+        List<AlertResponseDto> alerts = alertRepository.findByUserIdOrderByCreatedAtDesc(getCurrentUserId()).stream()
+                .map(this::toDto)
+                .toList();
+        return ResponseEntity.ok(BaseResponseDto.ok(alerts, "Alerts fetched"));
+    }
+
+    @PostMapping
+    public ResponseEntity<BaseResponseDto<AlertResponseDto>> createAlert(@Valid @RequestBody AlertRequestDto request) {
+        Long userId = getCurrentUserId();
+        if (alertRepository.countByUserIdAndActiveTrue(userId) >= maxPerUser) {
+            return ResponseEntity.badRequest()
+                    .body(BaseResponseDto.error("At most " + maxPerUser + " active alerts per user"));
+        }
+        if (!symbolIndex.accepts(request.getSymbol())) {
+            return ResponseEntity.badRequest().body(BaseResponseDto.error("Unknown symbol: " + request.getSymbol()));
+        }
+        if (!Double.isFinite(request.getThreshold())) {
+            return ResponseEntity.badRequest().body(BaseResponseDto.error("Threshold must be a number"));
+        }
+
+        PriceAlert alert = alertRepository.save(PriceAlert.builder()
+                .user(userRepository.getReferenceById(userId))
+                .symbol(request.getSymbol().trim().toUpperCase())
+                .type(request.getType())
+                .threshold(request.getThreshold())
+                .build());
+        alertEngine.add(new ActiveAlert(alert.getId(), userId, alert.getSymbol(), alert.getType(), alert.getThreshold()));
+
+        return ResponseEntity.ok(BaseResponseDto.ok(toDto(alert), "Alert created"));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BaseResponseDto<String>> deleteAlert(@PathVariable Long id) {
+        PriceAlert alert = alertRepository.findByIdAndUserId(id, getCurrentUserId())
+                .orElseThrow(() -> new RuntimeException("Alert not found"));
+
+        alertEngine.remove(alert.getSymbol(), alert.getType(), alert.getId());
+        alertRepository.delete(alert);
+        return ResponseEntity.ok(BaseResponseDto.ok("Deleted", "Alert deleted"));
+    }
+
+    // one "alert" event per triggered alert of the current user
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts() {
+        return alertEngine.subscribe(getCurrentUserId());
+    }
+
+    private AlertResponseDto toDto(PriceAlert alert) {
+        return AlertResponseDto.builder()
+                .id(alert.getId())
+                .symbol(alert.getSymbol())
+                .type(alert.getType())
+                .threshold(alert.getThreshold())
+                .active(alert.isActive())
+                .createdAt(alert.getCreatedAt())
+                .triggeredAt(alert.getTriggeredAt())
+                .build();
+    }
+
+    private Long getCurrentUserId() {
+        return ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,67 @@
+package com.MarketBriefApp.controller;
+
+import java.util.List;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.dto.CacheStatsResponseDto;
+import com.MarketBriefApp.dto.SingleFlightStatsResponseDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CaffeineCacheManager cacheManager;
+    private final SingleFlightRegistry singleFlights;
+
+    @GetMapping("/stats")
+    public ResponseEntity<BaseResponseDto<List<CacheStatsResponseDto>>> getStats() {
+        List<CacheStatsResponseDto> stats = cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(name -> (CaffeineCache) cacheManager.getCache(name))
+                .map(cache -> {
+                    CacheStats s = cache.getNativeCache().stats();
+                    return CacheStatsResponseDto.builder()
+                            .name(cache.getName())
+                            .size(cache.getNativeCache().estimatedSize())
+                            .hitCount(s.hitCount())
+                            .missCount(s.missCount())
+                            .hitRate(s.hitRate())
+                            .loadCount(s.loadCount())
+                            .loadFailureCount(s.loadFailureCount())
+                            .evictionCount(s.evictionCount())
+                            .build();
+                })
+                .toList();
+
+        return ResponseEntity.ok(BaseResponseDto.ok(stats, "Cache stats fetched"));
+    }
+
+    @GetMapping("/inflight")
+    public ResponseEntity<BaseResponseDto<List<SingleFlightStatsResponseDto>>> getInFlightStats() {
+        List<SingleFlightStatsResponseDto> stats = singleFlights.getAll().stream()
+                .map(group -> SingleFlightStatsResponseDto.builder()
+                        .name(group.getName())
+                        .upstreamCalls(group.upstreamCalls())
+                        .callersServed(group.callersServed())
+                        .averageCallersPerCall(group.upstreamCalls() == 0 ? 0
+                                : (double) group.callersServed() / group.upstreamCalls())
+                        .maxCallersPerCall(group.maxCallersPerCall())
+                        .inFlight(group.inFlightCount())
+                        .build())
+                .toList();
+
+        return ResponseEntity.ok(BaseResponseDto.ok(stats, "In-flight stats fetched"));
+    }
+}
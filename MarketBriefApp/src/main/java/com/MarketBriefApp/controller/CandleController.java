@@ -0,0 +1,54 @@
+package com.MarketBriefApp.controller;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.CandleDto;
+import com.MarketBriefApp.service.CandleHubService;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/stocks")
+@RequiredArgsConstructor
+public class CandleController {
+
+    private final CandleHubService candleHub;
+    private final SymbolIndex symbolIndex;
+
+    // unlisted symbols never open a feed or reach Yahoo
+    @GetMapping("/{symbol}/candles")
+    public ResponseEntity<BaseResponseDto<List<CandleDto>>> getCandles(@PathVariable String symbol) {
+        if (!symbolIndex.accepts(symbol)) {
+            return ResponseEntity.ok(BaseResponseDto.error("Unknown symbol: " + symbol));
+        }
+        return ResponseEntity.ok(BaseResponseDto.ok(candleHub.getSnapshot(symbol), "Candles fetched"));
+    }
+
+    // first event is the full "snapshot", after that one "candle" event per new or updated bar.
+    // an unlisted symbol gets a single "error" event and the stream ends
+    @GetMapping(value = "/{symbol}/candles/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCandles(@PathVariable String symbol) {
+        if (!symbolIndex.accepts(symbol)) {
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name("error").data("Unknown symbol: " + symbol));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+            return emitter;
+        }
+        return candleHub.subscribe(symbol);
+    }
+}
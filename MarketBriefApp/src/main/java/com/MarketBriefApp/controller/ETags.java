@@ -0,0 +1,21 @@
+package com.MarketBriefApp.controller;
+
+// weak validators built from the data behind a response rather than its bytes,
+// the BaseResponseDto envelope carries a fresh timestamp on every call so a body
+// hash would never match. the parts are records/DTOs with value-based hashCodes
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String weak(Object... parts) {
+        long hash = 1125899906842597L;
+        for (Object part : parts) {
+            int partHash = part == null ? 0 : part.hashCode();
+            hash = 31 * hash + partHash;
+            // spread each part over the high bits too so the tag uses all 64
+            hash ^= (long) partHash << 32;
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+}
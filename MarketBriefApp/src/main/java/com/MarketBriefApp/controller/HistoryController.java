@@ -1,18 +1,26 @@
 package com.MarketBriefApp.controller;
 
 import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.SearchHistoryPageResponseDto;
 import com.MarketBriefApp.dto.SearchHistoryResponseDto;
 import com.MarketBriefApp.entity.SearchHistory;
-import com.MarketBriefApp.entity.User;
+import com.MarketBriefApp.repository.SearchHistoryItem;
 import com.MarketBriefApp.repository.SearchHistoryRepository;
-import com.MarketBriefApp.repository.UserRepository;
+import com.MarketBriefApp.security.AuthenticatedUser;
+import com.MarketBriefApp.service.HistoryWriteBuffer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -22,61 +30,111 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class HistoryController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SearchHistoryRepository historyRepository;
-    private final UserRepository userRepository;
+    private final HistoryWriteBuffer historyWriteBuffer;
 
     @GetMapping
-    public ResponseEntity<BaseResponseDto<List<SearchHistoryResponseDto>>> getHistory() {
-        User user = getCurrentUser();
-        List<SearchHistoryResponseDto> history = historyRepository.findByUserOrderByTimestampDesc(user)
-                .stream()
+    public ResponseEntity<BaseResponseDto<SearchHistoryPageResponseDto>> getHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        Long userId = getCurrentUserId();
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // one extra row tells us whether another page exists
+        List<SearchHistoryItem> rows;
+        if (cursor == null || cursor.isBlank()) {
+            // a fresh first page should include this user's writes still sitting in the buffer
+            historyWriteBuffer.awaitWritten(userId);
+            rows = historyRepository.findFirstPage(userId, Limit.of(pageSize + 1));
+        } else {
+            String[] position = decodeCursor(cursor);
+            if (position == null) {
+                return ResponseEntity.badRequest().body(BaseResponseDto.error("Invalid history cursor"));
+            }
+            rows = historyRepository.findPageAfter(userId, LocalDateTime.parse(position[0]),
+                    Long.valueOf(position[1]), Limit.of(pageSize + 1));
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<SearchHistoryItem> page = hasMore ? rows.subList(0, pageSize) : rows;
+        List<SearchHistoryResponseDto> items = page.stream()
                 .map(h -> SearchHistoryResponseDto.builder()
-                        .id(h.getId())
-                        .symbol(h.getSymbol())
-                        .name(h.getName())
-                        .aiSummary(h.getAiSummary())
-                        .timestamp(h.getTimestamp())
+                        .id(h.id())
+                        .symbol(h.symbol())
+                        .name(h.name())
+                        .timestamp(h.timestamp())
                         .build())
                 .collect(Collectors.toList());
 
-        return ResponseEntity.ok(BaseResponseDto.ok(history, "History fetched"));
+        SearchHistoryPageResponseDto response = SearchHistoryPageResponseDto.builder()
+                .items(items)
+                .nextCursor(hasMore ? encodeCursor(page.get(page.size() - 1)) : null)
+                .build();
+
+        // history changes with every visit, so clients always revalidate and get a 304 when nothing was added
+        return ResponseEntity.ok()
+                .eTag(ETags.weak(items, response.getNextCursor()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(BaseResponseDto.ok(response, "History fetched"));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BaseResponseDto<SearchHistoryResponseDto>> getHistoryItem(@PathVariable Long id) {
+        SearchHistory h = historyRepository.findByIdAndUserId(id, getCurrentUserId())
+                .orElseThrow(() -> new RuntimeException("History not found"));
+
+        SearchHistoryResponseDto item = SearchHistoryResponseDto.builder()
+                .id(h.getId())
+                .symbol(h.getSymbol())
+                .name(h.getName())
+                .aiSummary(h.getAiSummary())
+                .timestamp(h.getTimestamp())
+                .build();
+
+        return ResponseEntity.ok(BaseResponseDto.ok(item, "History item fetched"));
     }
 
     @PostMapping("/{symbol}")
     public ResponseEntity<BaseResponseDto<String>> addHistory(@PathVariable String symbol,
             @RequestBody(required = false) Map<String, String> body) {
-        User user = getCurrentUser();
         String aiSummary = body != null ? body.get("aiSummary") : null;
 
-        SearchHistory history = SearchHistory.builder()
-                .user(user)
-                .symbol(symbol.toUpperCase())
-                .name(symbol.toUpperCase())
-                .aiSummary(aiSummary)
-                .build();
-
-        historyRepository.save(history);
+        historyWriteBuffer.enqueue(getCurrentUserId(), symbol.toUpperCase(), symbol.toUpperCase(), aiSummary);
         return ResponseEntity.ok(BaseResponseDto.ok(symbol, "History updated"));
     }
 
     @DeleteMapping("/{id}")
     @Transactional
     public ResponseEntity<BaseResponseDto<String>> deleteHistory(@PathVariable Long id) {
-        User user = getCurrentUser();
-        SearchHistory history = historyRepository.findById(id)
+        SearchHistory history = historyRepository.findByIdAndUserId(id, getCurrentUserId())
                 .orElseThrow(() -> new RuntimeException("History not found"));
 
-        if (!history.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
-        }
-
         historyRepository.delete(history);
         return ResponseEntity.ok(BaseResponseDto.ok("Deleted", "History item deleted"));
     }
 
-    private User getCurrentUser() {
-        String email = ((UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal())
-                .getUsername();
-        return userRepository.findByEmail(email).orElseThrow();
+    private Long getCurrentUserId() {
+        return ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+
+    // opaque cursor: base64 of "<timestamp>|<id>" of the last row on the page
+    private String encodeCursor(SearchHistoryItem last) {
+        String position = last.timestamp() + "|" + last.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length != 2) return null;
+            LocalDateTime.parse(position[0]);
+            Long.parseLong(position[1]);
+            return position;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
     }
 }
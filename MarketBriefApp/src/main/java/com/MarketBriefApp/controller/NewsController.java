@@ -1,9 +1,15 @@
 package com.MarketBriefApp.controller;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,14 +17,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.MarketBriefApp.cache.Snapshot;
 import com.MarketBriefApp.dto.BaseResponseDto;
 import com.MarketBriefApp.dto.NewsArticleResponseDto;
+import com.MarketBriefApp.exception.ClientAbortedException;
 import com.MarketBriefApp.service.external.AISummaryService;
 import com.MarketBriefApp.service.external.NewsExternalService;
+import com.MarketBriefApp.service.external.model.NewsApiResponse;
+import com.MarketBriefApp.symbols.SymbolIndex;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/news")
 @RequiredArgsConstructor
@@ -26,29 +39,55 @@ public class NewsController {
 
     private final NewsExternalService newsService;
     private final AISummaryService aiService;
+    private final ExecutorService upstreamExecutor;
+    private final SymbolIndex symbolIndex;
+
+    @Value("${app.summary.stream-timeout}")
+    private Duration summaryStreamTimeout;
+
+    @Value("${app.cache.news.refresh-after}")
+    private Duration newsRefreshAfter;
 
-    @SuppressWarnings("unchecked")
 	@GetMapping("/{symbol}")
     public ResponseEntity<BaseResponseDto<List<NewsArticleResponseDto>>> getNews(@PathVariable String symbol) {
-        Map<String, Object> newsData = newsService.getStockNews(symbol);
+        if (!symbolIndex.accepts(symbol)) {
+            return ResponseEntity.ok(BaseResponseDto.error("Unknown symbol: " + symbol));
+        }
+
+        // when the upstream fails or refuses, the last good window is served marked stale
+        NewsApiResponse newsData = null;
+        Snapshot<NewsApiResponse> stale;
+        try {
+            newsData = newsService.getStockNews(symbol);
+            stale = newsService.getStaleNews(symbol, newsData);
+        } catch (RuntimeException e) {
+            stale = newsService.getStaleNews(symbol, null);
+            if (stale == null) throw e;
+            log.warn("Serving stale news for {}: {}", symbol, e.getMessage());
+        }
+        if (stale != null) {
+            newsData = stale.value();
+        }
 
         List<NewsArticleResponseDto> articles = List.of();
-        if (newsData != null && newsData.containsKey("articles")) {
-            List<Map<String, Object>> rawArticles = (List<Map<String, Object>>) newsData.get("articles");
-            articles = rawArticles.stream()
+        if (newsData != null && newsData.articles() != null) {
+            articles = newsData.articles().stream()
                     .map(article -> NewsArticleResponseDto.builder()
-                            .title((String) article.get("title"))
-                            .description((String) article.get("description"))
-                            .url((String) article.get("url"))
-                            .source(article.containsKey("source")
-                                    ? (String) ((Map<String, Object>) article.get("source")).get("name")
-                                    : "Unknown")
-                            .publishedAt((String) article.get("publishedAt"))
+                            .title(article.title())
+                            .description(article.description())
+                            .url(article.url())
+                            .source(article.source() != null ? article.source().name() : "Unknown")
+                            .publishedAt(article.publishedAt())
                             .build())
                     .collect(Collectors.toList());
         }
 
-        return ResponseEntity.ok(BaseResponseDto.ok(articles, "News fetched successfully"));
+        BaseResponseDto<List<NewsArticleResponseDto>> body = BaseResponseDto.ok(articles, "News fetched successfully");
+        return ResponseEntity.ok()
+                .eTag(ETags.weak(newsData, stale != null))
+                .cacheControl(stale != null ? CacheControl.noCache() : CacheControl.maxAge(newsRefreshAfter).cachePublic())
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(stale != null ? body.markStale(stale.asOf()) : body);
     }
 
     @PostMapping("/{symbol}/summarize")
@@ -57,4 +96,40 @@ public class NewsController {
         String summary = aiService.summarizeNews(symbol,newsTexts);
         return ResponseEntity.ok(BaseResponseDto.ok(summary, "Summary generated successfully"));
     }
+
+    // "token" events carry completion text as it arrives, a final "summary" event
+    // carries the assembled text so the client can store it in history
+    @PostMapping(value = "/{symbol}/summarize/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSummary(@PathVariable String symbol, @RequestBody List<String> newsTexts) {
+        SseEmitter emitter = new SseEmitter(summaryStreamTimeout.toMillis());
+        upstreamExecutor.execute(() -> {
+            try {
+                String summary = aiService.streamSummary(symbol, newsTexts, token -> sendEvent(emitter, "token", token));
+                sendEvent(emitter, "summary", summary);
+                emitter.complete();
+            } catch (ClientAbortedException e) {
+                log.debug("Summary stream for {} closed by client", symbol);
+                emitter.completeWithError(e);
+            } catch (Exception e) {
+                log.warn("Streaming summary for {} failed: {}", symbol, e.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("error")
+                            .data("Unable to generate summary at the moment. Please try again later."));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException sendFailure) {
+                    emitter.completeWithError(sendFailure);
+                }
+            }
+        });
+        return emitter;
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, String data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException e) {
+            // client went away, stop reading the upstream stream
+            throw new ClientAbortedException("Summary stream closed by client", e);
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.MarketBriefApp.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.CandleDto;
+import com.MarketBriefApp.service.PriceHistoryService;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/stocks")
+@RequiredArgsConstructor
+public class PriceHistoryController {
+
+    private final PriceHistoryService historyService;
+    private final SymbolIndex symbolIndex;
+
+    // from/to are epoch seconds, both inclusive
+    @GetMapping("/{symbol}/history")
+    public ResponseEntity<BaseResponseDto<List<CandleDto>>> getHistory(@PathVariable String symbol,
+            @RequestParam(defaultValue = "1d") String interval,
+            @RequestParam(defaultValue = "0") long from,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long to) {
+        // unlisted symbols never reach yahoo or the candle store
+        if (!symbolIndex.accepts(symbol) || symbol.isBlank() || symbol.strip().chars().allMatch(c -> c == '.')) {
+            return ResponseEntity.ok(BaseResponseDto.error("Unknown symbol: " + symbol));
+        }
+        if (!historyService.isSupportedInterval(interval)) {
+            return ResponseEntity.ok(BaseResponseDto.error("Unsupported interval: " + interval));
+        }
+
+        List<CandleDto> candles = historyService.getHistory(symbol, interval, from, to);
+        return ResponseEntity.ok(BaseResponseDto.ok(candles, "Price history fetched"));
+    }
+}
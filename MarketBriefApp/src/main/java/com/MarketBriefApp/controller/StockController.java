@@ -1,152 +1,199 @@
 package com.MarketBriefApp.controller;
 
-import java.util.Map;
-
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.MarketBriefApp.cache.Snapshot;
 import com.MarketBriefApp.dto.BaseResponseDto;
-import com.MarketBriefApp.dto.StockOverviewResponseDto;
+import com.MarketBriefApp.dto.BulkQuoteResponseDto;
+import com.MarketBriefApp.exception.QuotaExceededException;
+import com.MarketBriefApp.mapper.StockOverviewMapper;
+import com.MarketBriefApp.market.Market;
+import com.MarketBriefApp.market.MarketCalendar;
+import com.MarketBriefApp.service.QuoteBatchService;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.quota.Deadline;
 import com.MarketBriefApp.service.external.StockExternalService;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+import com.MarketBriefApp.symbols.SymbolIndex;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/stocks")
 @RequiredArgsConstructor
 public class StockController {
 
     private final StockExternalService stockService;
+    private final StockOverviewMapper stockOverviewMapper;
+    private final ExecutorService upstreamExecutor;
+    private final UpstreamMetrics upstreamMetrics;
+    private final QuoteBatchService quoteBatchService;
+    private final SymbolIndex symbolIndex;
+    private final MarketCalendar marketCalendar;
+
+    @Value("${app.stock.overview-timeout-ms}")
+    private long overviewTimeoutMs;
+
+    @Value("${app.stock.quote-timeout-ms}")
+    private long quoteTimeoutMs;
+
+    // browsers and proxies may reuse an overview for as long as the quote cache does
+    @Value("${app.cache.quote.refresh-after}")
+    private Duration quoteRefreshAfter;
+
+    // upper bound for reuse while the market is closed, so a holiday missing from the
+    // calendar costs at most this much delay
+    @Value("${app.market.closed-max-age}")
+    private Duration closedMaxAge;
+
+    @Value("${app.stock.bulk.max-symbols}")
+    private int maxBulkSymbols;
+
+    // one request for a whole watchlist, symbols that miss the deadline come back in "missing"
+    @GetMapping("/quotes")
+    public ResponseEntity<BaseResponseDto<BulkQuoteResponseDto>> getQuotes(@RequestParam List<String> symbols) {
+        if (symbols.size() > maxBulkSymbols) {
+            return ResponseEntity.badRequest()
+                    .body(BaseResponseDto.error("At most " + maxBulkSymbols + " symbols per request"));
+        }
+
+        BulkQuoteResponseDto quotes = quoteBatchService.getQuotes(symbols);
+        return ResponseEntity.ok(BaseResponseDto.ok(quotes,
+                quotes.isPartial() ? "Some quotes are unavailable" : "Quotes fetched"));
+    }
 
-    @SuppressWarnings("unchecked")
 	@GetMapping("/{symbol}/overview")
-    public ResponseEntity<BaseResponseDto<StockOverviewResponseDto>> getStockOverview(@PathVariable String symbol) {
-        System.out.println("Fetching Alpha Vantage overview for symbol: " + symbol);
-        
-        Map<String, Object> overview = stockService.getStockOverview(symbol);
-        Map<String, Object> quote = stockService.getStockQuote(symbol);
-        
+    public ResponseEntity<BaseResponseDto<?>> getStockOverview(@PathVariable String symbol,
+            @RequestParam(defaultValue = "formatted") String format) {
+        log.debug("Fetching Alpha Vantage overview for symbol: {}", symbol);
+
+        // unlisted tickers are answered here instead of spending two upstream calls to learn the same
+        if (!symbolIndex.accepts(symbol)) {
+            return ResponseEntity.ok(BaseResponseDto.error("Stock not found or invalid symbol: " + symbol));
+        }
+
+        // fire both upstream calls at once, each one gets its own deadline
+        long start = System.nanoTime();
+        // the deadlines travel with the calls, so neither queues for quota after we stopped waiting
+        long overviewDeadline = start + TimeUnit.MILLISECONDS.toNanos(overviewTimeoutMs);
+        long quoteDeadline = start + TimeUnit.MILLISECONDS.toNanos(quoteTimeoutMs);
+        CompletableFuture<StockOverview> overviewCall = CompletableFuture.supplyAsync(
+                () -> Deadline.within(overviewDeadline, () -> stockService.getStockOverview(symbol)), upstreamExecutor);
+        CompletableFuture<StockQuote> quoteCall = CompletableFuture.supplyAsync(
+                () -> Deadline.within(quoteDeadline, () -> stockService.getStockQuote(symbol)), upstreamExecutor);
+
+        StockOverview overview = await(overviewCall, start, overviewTimeoutMs, "OVERVIEW", symbol, StockOverview.EMPTY);
+        StockQuote quote = await(quoteCall, start, quoteTimeoutMs, "GLOBAL_QUOTE", symbol, StockQuote.EMPTY);
+
+        // a failed, late or throttled call falls back to the last good answer, and a value
+        // restored at startup that nothing has refreshed yet is reported as stale as well
+        Snapshot<?> oldest = null;
+        Snapshot<StockOverview> staleOverview = stockService.getStaleOverview(symbol, overview);
+        if (staleOverview != null) {
+            overview = staleOverview.value();
+            oldest = staleOverview;
+        }
+        Snapshot<StockQuote> staleQuote = stockService.getStaleQuote(symbol, quote);
+        if (staleQuote != null) {
+            quote = staleQuote.value();
+            if (oldest == null || staleQuote.savedAt() < oldest.savedAt()) oldest = staleQuote;
+        }
+        boolean partial = overview == null || quote == null;
+
+        if (overview == null && quote == null) {
+            rethrowIfQuotaExceeded(overviewCall);
+            rethrowIfQuotaExceeded(quoteCall);
+            return ResponseEntity.ok(BaseResponseDto.error("Stock data provider is not responding. Please try again shortly."));
+        }
+
         // check api limit
-        if ((overview != null && overview.containsKey("Note")) || (quote != null && quote.containsKey("Note"))) {
+        if ((overview != null && overview.isThrottled()) || (quote != null && quote.isThrottled())) {
             return ResponseEntity.ok(BaseResponseDto.error("API rate limit reached. Please try again in a minute."));
         }
 
         // handle Api error for invalid ticker anem 
-        if ((overview == null || overview.isEmpty() || overview.containsKey("Error Message")) && 
-            (quote == null || quote.isEmpty() || !quote.containsKey("Global Quote"))) {
+        if (!partial && !overview.isFound() && !quote.isFound()) {
             return ResponseEntity.ok(BaseResponseDto.error("Stock not found or invalid symbol: " + symbol));
         }
 
-        Map<String, Object> quoteData = quote != null && quote.containsKey("Global Quote")
-                ? (Map<String, Object>) quote.get("Global Quote")
-                : Map.of();
-
-        // get 
-        String price = (String) quoteData.getOrDefault("05. price", "0.00");
-        String change = (String) quoteData.getOrDefault("10. change percent", "0%");
-        String volume = (String) quoteData.getOrDefault("06. volume", "0");
-        String high = (String) quoteData.getOrDefault("03. high", "0.00");
-        String low = (String) quoteData.getOrDefault("04. low", "0.00");
-        String open = (String) quoteData.getOrDefault("02. open", "0.00");
-        String prevClose = (String) quoteData.getOrDefault("08. previous close", "0.00");
-
-        double priceVal = parseDouble(price);
-        String upperCircuit = priceVal > 0 ? String.format("%.2f", priceVal * 1.20) : "N/A";
-        String lowerCircuit = priceVal > 0 ? String.format("%.2f", priceVal * 0.80) : "N/A";
-
-        // if API doesn't return it
-        String name = (String) overview.getOrDefault("Name", "N/A");
-        if ("N/A".equals(name) || name == null || name.isEmpty()) {
-            name = symbol.toUpperCase();
+        if (overview == null) {
+            overview = StockOverview.EMPTY;
+        }
+        if (quote == null) {
+            quote = StockQuote.EMPTY;
         }
 
-        StockOverviewResponseDto response = StockOverviewResponseDto.builder()
-                .symbol(symbol.toUpperCase())
-                .name(name)
-                .price(price)
-                .changePercent(change.replace("%", ""))
-                .description((String) overview.getOrDefault("Description", "No description available."))
-                .sector((String) overview.getOrDefault("Sector", "N/A"))
-                .industry((String) overview.getOrDefault("Industry", "N/A"))
-                .currency((String) overview.getOrDefault("Currency", "INR"))
-                .exchange((String) overview.getOrDefault("Exchange", "N/A"))
-                .country((String) overview.getOrDefault("Country", "N/A"))
-                .dayHigh(high)
-                .dayLow(low)
-                .week52High((String) overview.getOrDefault("52WeekHigh", "N/A"))
-                .week52Low((String) overview.getOrDefault("52WeekLow", "N/A"))
-                .week50DayAverage((String) overview.getOrDefault("50DayMovingAverage", "N/A"))
-                .week200DayAverage((String) overview.getOrDefault("200DayMovingAverage", "N/A"))
-                .open(open)
-                .previousClose(prevClose)
-                .volume(volume)
-                .tradedValue(calculateTradedValue(volume, price))
-                .upperCircuit(upperCircuit)
-                .lowerCircuit(lowerCircuit)
-                .marketCap(formatLargeValue((String) overview.getOrDefault("MarketCapitalization", "N/A")))
-                .peRatio((String) overview.getOrDefault("PERatio", "N/A"))
-                .pbRatio((String) overview.getOrDefault("PriceToBookRatio", "N/A"))
-                .industryPE("N/A") 
-                .debtToEquity("N/A") 
-                .roe(formatPercentValue((String) overview.getOrDefault("ReturnOnEquityTTM", "N/A")))
-                .eps((String) overview.getOrDefault("EPS", "N/A"))
-                .dividendYield(formatPercentValue((String) overview.getOrDefault("DividendYield", "N/A")))
-                .bookValue((String) overview.getOrDefault("BookValue", "N/A"))
-                .faceValue("N/A")
-                .analystTargetPrice((String) overview.getOrDefault("AnalystTargetPrice", "N/A"))
-                .build();
-
-        return ResponseEntity.ok(BaseResponseDto.ok(response, "Stock overview fetched successfully"));
-    }
-
-    private String formatLargeValue(String val) {
-        if (val == null || "N/A".equals(val)) return "N/A";
-        try {
-            double total = Double.parseDouble(val);
-            if (total >= 1e12) return String.format("%.2fT", total / 1e12);
-            if (total >= 1e9) return String.format("%.2fB", total / 1e9);
-            if (total >= 1e7) return String.format("%.2fCr", total / 1e7);
-            if (total >= 1e5) return String.format("%.2fL", total / 1e5);
-            return String.format("%.2f", total);
-        } catch (Exception e) { return val; }
+        // the same cached overview and quote give the same tag, so a repeat GET with
+        // If-None-Match is answered 304 without writing the body
+        boolean raw = "raw".equalsIgnoreCase(format);
+        boolean stale = oldest != null;
+        String message = partial ? "Stock overview partially fetched" : "Stock overview fetched successfully";
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .eTag(ETags.weak(overview, quote, partial, raw, stale))
+                // a stale answer is revalidated on every use so the live one replaces it promptly
+                .cacheControl(stale ? CacheControl.noCache() : CacheControl.maxAge(maxAge(symbol, overview)).cachePublic())
+                .varyBy(HttpHeaders.AUTHORIZATION);
+        BaseResponseDto<?> body = raw
+                ? BaseResponseDto.ok(stockOverviewMapper.toRawResponse(symbol, overview, quote, partial), message)
+                : BaseResponseDto.ok(stockOverviewMapper.toResponse(symbol, overview, quote, partial), message);
+        return ok.body(stale ? body.markStale(oldest.asOf()) : body);
     }
 
-    private String formatPercentValue(String val) {
-        if (val == null || "N/A".equals(val)) return "N/A";
-        try {
-            double p = Double.parseDouble(val);
-            return String.format("%.2f%%", p * (p < 1 ? 100 : 1)); // Handle both 0.15 and 15
-        } catch (Exception e) { return val; }
+    // as long as the quote cache keeps a price during the session, until the next open
+    // (at most closed-max-age) outside it
+    private Duration maxAge(String symbol, StockOverview overview) {
+        Market market = marketCalendar.marketOf(overview.exchange(), overview.currency());
+        Duration untilOpen = marketCalendar.untilNextOpen(market != null ? market : marketCalendar.marketOf(symbol),
+                Instant.now());
+        if (untilOpen.isZero()) return quoteRefreshAfter;
+        return untilOpen.compareTo(closedMaxAge) < 0 ? untilOpen : closedMaxAge;
     }
 
-
-
-    private double parseDouble(String value) {
+    // waits until the upstream's deadline, null means the call timed out or failed
+    private <T> T await(CompletableFuture<T> call, long startNanos, long timeoutMs, String function,
+            String symbol, T empty) {
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs) - (System.nanoTime() - startNanos);
         try {
-            return Double.parseDouble(value);
-        } catch (Exception e) {
-            return 0.0;
+            T result = call.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+            return result != null ? result : empty;
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            upstreamMetrics.deadlineMissed("alphaVantage", function);
+            log.warn("Alpha Vantage {} for {} missed its {} ms deadline", function, symbol, timeoutMs);
+            return null;
+        } catch (ExecutionException e) {
+            log.warn("Alpha Vantage {} for {} failed: {}", function, symbol, e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
         }
     }
 
-    private String calculateTradedValue(String volume, String price) {
-        try {
-            double vol = Double.parseDouble(volume);
-            double prc = Double.parseDouble(price);
-            double tradedValue = vol * prc;
-
-            if (tradedValue >= 1e9)
-                return String.format("%.2fB", tradedValue / 1e9);
-            if (tradedValue >= 1e6)
-                return String.format("%.2fM", tradedValue / 1e6);
-            if (tradedValue >= 1e3)
-                return String.format("%.2fK", tradedValue / 1e3);
-            return String.format("%.2f", tradedValue);
-        } catch (Exception e) {
-            return "N/A";
+    private void rethrowIfQuotaExceeded(CompletableFuture<?> call) {
+        if (call.isCompletedExceptionally() && !call.isCancelled()
+                && call.exceptionNow() instanceof QuotaExceededException quotaExceeded) {
+            throw quotaExceeded;
         }
     }
 }
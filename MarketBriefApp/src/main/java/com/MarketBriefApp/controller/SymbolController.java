@@ -0,0 +1,37 @@
+package com.MarketBriefApp.controller;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.SymbolMatchDto;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/symbols")
+@RequiredArgsConstructor
+public class SymbolController {
+
+    private static final int MAX_RESULTS = 25;
+
+    private final SymbolIndex symbolIndex;
+
+    // autocomplete for the symbol box, the listings only change on restart so browsers may keep results
+    @GetMapping("/search")
+    public ResponseEntity<BaseResponseDto<List<SymbolMatchDto>>> search(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<SymbolMatchDto> matches = symbolIndex.search(q, Math.max(1, Math.min(limit, MAX_RESULTS)));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .body(BaseResponseDto.ok(matches, "Symbols found"));
+    }
+}
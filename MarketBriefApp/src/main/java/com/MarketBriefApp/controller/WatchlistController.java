@@ -0,0 +1,83 @@
+package com.MarketBriefApp.controller;
+
+import com.MarketBriefApp.dto.BaseResponseDto;
+import com.MarketBriefApp.dto.BulkQuoteResponseDto;
+import com.MarketBriefApp.entity.WatchlistItem;
+import com.MarketBriefApp.repository.UserRepository;
+import com.MarketBriefApp.repository.WatchlistRepository;
+import com.MarketBriefApp.security.AuthenticatedUser;
+import com.MarketBriefApp.service.QuoteBatchService;
+import com.MarketBriefApp.symbols.SymbolIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/watchlist")
+@RequiredArgsConstructor
+public class WatchlistController {
+
+    private final WatchlistRepository watchlistRepository;
+    private final UserRepository userRepository;
+    private final QuoteBatchService quoteBatchService;
+    private final SymbolIndex symbolIndex;
+
+    @Value("${app.watchlist.max-size}")
+    private int maxSize;
+
+    @GetMapping
+    public ResponseEntity<BaseResponseDto<List<String>>> getWatchlist() {
+        List<String> symbols = watchlistRepository.findSymbolsByUserId(getCurrentUserId());
+        return ResponseEntity.ok(BaseResponseDto.ok(symbols, "Watchlist fetched"));
+    }
+
+    // the whole watchlist rendered with one request
+    @GetMapping("/quotes")
+    public ResponseEntity<BaseResponseDto<BulkQuoteResponseDto>> getWatchlistQuotes() {
+        List<String> symbols = watchlistRepository.findSymbolsByUserId(getCurrentUserId());
+        BulkQuoteResponseDto quotes = quoteBatchService.getQuotes(symbols);
+        return ResponseEntity.ok(BaseResponseDto.ok(quotes,
+                quotes.isPartial() ? "Some quotes are unavailable" : "Quotes fetched"));
+    }
+
+    @PostMapping("/{symbol}")
+    public ResponseEntity<BaseResponseDto<String>> addSymbol(@PathVariable String symbol) {
+        Long userId = getCurrentUserId();
+        String formatted = symbol.trim().toUpperCase();
+        if (!symbolIndex.accepts(formatted)) {
+            return ResponseEntity.badRequest().body(BaseResponseDto.error("Unknown symbol: " + formatted));
+        }
+
+        // adding a symbol twice is not an error
+        if (watchlistRepository.existsByUserIdAndSymbol(userId, formatted)) {
+            return ResponseEntity.ok(BaseResponseDto.ok(formatted, "Already in watchlist"));
+        }
+        if (watchlistRepository.countByUserId(userId) >= maxSize) {
+            return ResponseEntity.badRequest()
+                    .body(BaseResponseDto.error("Watchlist is limited to " + maxSize + " symbols"));
+        }
+
+        watchlistRepository.save(WatchlistItem.builder()
+                .user(userRepository.getReferenceById(userId))
+                .symbol(formatted)
+                .build());
+        return ResponseEntity.ok(BaseResponseDto.ok(formatted, "Added to watchlist"));
+    }
+
+    @DeleteMapping("/{symbol}")
+    public ResponseEntity<BaseResponseDto<String>> removeSymbol(@PathVariable String symbol) {
+        String formatted = symbol.trim().toUpperCase();
+        if (watchlistRepository.deleteByUserIdAndSymbol(getCurrentUserId(), formatted) == 0) {
+            throw new RuntimeException("Symbol not in watchlist");
+        }
+        return ResponseEntity.ok(BaseResponseDto.ok(formatted, "Removed from watchlist"));
+    }
+
+    private Long getCurrentUserId() {
+        return ((AuthenticatedUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,26 @@
+package com.MarketBriefApp.dto;
+
+import com.MarketBriefApp.entity.AlertType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertRequestDto {
+
+    @NotBlank(message = "Symbol is required")
+    private String symbol;
+
+    @NotNull(message = "Alert type is required")
+    private AlertType type;
+
+    // a price for PRICE_* alerts, a percentage such as 2.5 for CHANGE_PERCENT_* alerts
+    @NotNull(message = "Threshold is required")
+    private Double threshold;
+}
@@ -0,0 +1,23 @@
+package com.MarketBriefApp.dto;
+
+import com.MarketBriefApp.entity.AlertType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertResponseDto {
+    private Long id;
+    private String symbol;
+    private AlertType type;
+    private double threshold;
+    private boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime triggeredAt;
+}
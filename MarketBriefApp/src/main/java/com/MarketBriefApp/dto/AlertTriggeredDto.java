@@ -0,0 +1,24 @@
+package com.MarketBriefApp.dto;
+
+import com.MarketBriefApp.entity.AlertType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// pushed to the owner's alert stream when a quote crosses the threshold
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AlertTriggeredDto {
+    private Long alertId;
+    private String symbol;
+    private AlertType type;
+    private double threshold;
+    // the price or percent change that crossed it
+    private double value;
+    private LocalDateTime triggeredAt;
+}
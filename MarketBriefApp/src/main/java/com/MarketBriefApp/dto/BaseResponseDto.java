@@ -16,6 +16,10 @@ public class BaseResponseDto<T> {
     private String message;
     private T data;
     private LocalDateTime timestamp;
+    // true when data is a last-known-good snapshot rather than a live upstream answer,
+    // asOf is then when that snapshot was fetched
+    private boolean stale;
+    private LocalDateTime asOf;
 
     public static <T> BaseResponseDto<T> ok(T data, String message) {
         return BaseResponseDto.<T>builder()
@@ -26,6 +30,12 @@ public class BaseResponseDto<T> {
                 .build();
     }
 
+    public BaseResponseDto<T> markStale(LocalDateTime asOf) {
+        this.stale = true;
+        this.asOf = asOf;
+        return this;
+    }
+
     public static <T> BaseResponseDto<T> error(String message) {
         return BaseResponseDto.<T>builder()
                 .success(false)
@@ -0,0 +1,22 @@
+package com.MarketBriefApp.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkQuoteResponseDto {
+    // in the order the symbols were requested
+    private List<QuoteDto> quotes;
+
+    // symbols without a quote in this response: unknown, throttled or past the deadline
+    private List<String> missing;
+
+    private boolean partial;
+}
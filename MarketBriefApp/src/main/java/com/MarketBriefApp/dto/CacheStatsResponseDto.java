@@ -0,0 +1,21 @@
+package com.MarketBriefApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponseDto {
+    private String name;
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadCount;
+    private long loadFailureCount;
+    private long evictionCount;
+}
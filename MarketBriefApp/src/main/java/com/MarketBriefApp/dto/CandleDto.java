@@ -0,0 +1,21 @@
+package com.MarketBriefApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one OHLCV bar, short field names keep per-update stream events small
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CandleDto {
+    // epoch seconds at the start of the bar
+    private long t;
+    private double o;
+    private double h;
+    private double l;
+    private double c;
+    private long v;
+}
@@ -0,0 +1,27 @@
+package com.MarketBriefApp.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row of a watchlist, plain numbers with null for values the upstream did not report
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteDto {
+    private String symbol;
+    private Double price;
+    private Double change;
+    private Double changePercent;
+    private Double open;
+    private Double high;
+    private Double low;
+    private Double previousClose;
+    private Long volume;
+    // set when the quote is a last-known-good snapshot, when it was fetched
+    private LocalDateTime asOf;
+}
@@ -0,0 +1,19 @@
+package com.MarketBriefApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchHistoryPageResponseDto {
+    // list items never carry aiSummary, fetch a single item for that
+    private List<SearchHistoryResponseDto> items;
+    // pass back as ?cursor= for the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.MarketBriefApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SingleFlightStatsResponseDto {
+    private String name;
+    private long upstreamCalls;
+    private long callersServed;
+    private double averageCallersPerCall;
+    private int maxCallersPerCall;
+    private int inFlight;
+}
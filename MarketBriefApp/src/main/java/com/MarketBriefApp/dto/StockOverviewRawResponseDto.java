@@ -0,0 +1,54 @@
+package com.MarketBriefApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// the overview as plain numbers for clients that format on their side
+// (?format=raw). null means the upstream did not report the value, roe and
+// dividendYield are fractions as alpha vantage sends them
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StockOverviewRawResponseDto {
+    // stock info
+    private String symbol;
+    private String name;
+    private Double price;
+    private Double changePercent;
+    private String description;
+    private String sector;
+    private String industry;
+    private String currency;
+    private String exchange;
+    private String country;
+
+    // performance
+    private Double dayHigh;
+    private Double dayLow;
+    private Double week52High;
+    private Double week52Low;
+    private Double open;
+    private Double previousClose;
+    private Long volume;
+    private Double tradedValue;
+    private Double upperCircuit;
+    private Double lowerCircuit;
+    private Double week50DayAverage;
+    private Double week200DayAverage;
+
+    // fundamental
+    private Double marketCap;
+    private Double peRatio;
+    private Double pbRatio;
+    private Double roe;
+    private Double eps;
+    private Double dividendYield;
+    private Double bookValue;
+    private Double analystTargetPrice;
+
+    // true when an upstream missed its deadline and some fields are missing
+    private boolean partial;
+}
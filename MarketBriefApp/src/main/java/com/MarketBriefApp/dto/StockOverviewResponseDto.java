@@ -48,4 +48,7 @@ public class StockOverviewResponseDto {
     private String bookValue;
     private String faceValue;
     private String analystTargetPrice;
+
+    // true when an upstream missed its deadline and some fields are defaults
+    private boolean partial;
 }
@@ -0,0 +1,17 @@
+package com.MarketBriefApp.entity;
+
+// price alerts compare against the last trade, percent alerts against the day's change from the previous close
+public enum AlertType {
+    PRICE_ABOVE,
+    PRICE_BELOW,
+    CHANGE_PERCENT_ABOVE,
+    CHANGE_PERCENT_BELOW;
+
+    public boolean isAbove() {
+        return this == PRICE_ABOVE || this == CHANGE_PERCENT_ABOVE;
+    }
+
+    public boolean isPercent() {
+        return this == CHANGE_PERCENT_ABOVE || this == CHANGE_PERCENT_BELOW;
+    }
+}
@@ -0,0 +1,53 @@
+package com.MarketBriefApp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+// the alert engine loads active rows at startup, the list endpoint reads per user
+@Table(name = "price_alerts", indexes = {
+        @Index(name = "idx_price_alerts_active", columnList = "active"),
+        @Index(name = "idx_price_alerts_user", columnList = "user_id, created_at")})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class PriceAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 16)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AlertType type;
+
+    @Column(nullable = false)
+    private double threshold;
+
+    // alerts fire once, a triggered alert stays in the list until the user deletes it
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime triggeredAt;
+}
@@ -11,7 +11,12 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "search_history")
+// the composite index covers the history list (newest first per user) without
+// touching the row, which keeps the ai_summary TEXT column off that path. the second
+// one covers the popularity scan across all users by time
+@Table(name = "search_history", indexes = {
+        @Index(name = "idx_search_history_user_ts", columnList = "user_id, timestamp, id, symbol, name"),
+        @Index(name = "idx_search_history_ts", columnList = "timestamp, symbol") })
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,6 +25,8 @@ import java.time.LocalDateTime;
 public class SearchHistory {
 
     @Id
+    // new rows are inserted by HistoryWriteBuffer through JDBC batches, which do not
+    // need the generated keys back, so IDENTITY does not get in the way of batching
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
@@ -0,0 +1,37 @@
+package com.MarketBriefApp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "watchlist_items", uniqueConstraints = @UniqueConstraint(name = "uk_watchlist_user_symbol",
+        columnNames = {"user_id", "symbol"}))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class WatchlistItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false, length = 16)
+    private String symbol;
+
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime addedAt;
+}
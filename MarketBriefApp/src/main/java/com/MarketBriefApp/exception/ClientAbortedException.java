@@ -0,0 +1,10 @@
+package com.MarketBriefApp.exception;
+
+// the client went away while we were still relaying an upstream response to it. the
+// upstream did nothing wrong, so the gateway does not count it against the provider
+public class ClientAbortedException extends RuntimeException {
+
+    public ClientAbortedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -2,6 +2,7 @@ package com.MarketBriefApp.exception;
 
 import com.MarketBriefApp.dto.BaseResponseDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -38,6 +39,51 @@ public class GlobalExceptionHandler {
                 .body(BaseResponseDto.error("Access denied: You do not have permission to access this resource"));
     }
 
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<BaseResponseDto<Object>> handleQuotaExceededException(QuotaExceededException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(BaseResponseDto.error(ex.getUpstream() + " request limit reached. Please try again in "
+                        + retryAfterSeconds + " seconds."));
+    }
+
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<BaseResponseDto<Object>> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(BaseResponseDto.error("Data provider is temporarily unavailable. Please try again in "
+                        + retryAfterSeconds + " seconds."));
+    }
+
+    @ExceptionHandler(WriteBufferFullException.class)
+    public ResponseEntity<BaseResponseDto<Object>> handleWriteBufferFullException(WriteBufferFullException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(BaseResponseDto.error("Server is busy saving history. Please try again shortly."));
+    }
+
+    // a chunked body that ran past the size limit surfaces here as the cause of the read failure
+    @ExceptionHandler(org.springframework.http.converter.HttpMessageNotReadableException.class)
+    public ResponseEntity<BaseResponseDto<Object>> handleMessageNotReadableException(
+            org.springframework.http.converter.HttpMessageNotReadableException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RequestTooLargeException tooLarge) {
+                return ResponseEntity
+                        .status(HttpStatus.CONTENT_TOO_LARGE)
+                        .body(BaseResponseDto.error("Request body exceeds " + tooLarge.getMaxBytes() + " bytes"));
+            }
+        }
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(BaseResponseDto.error("Malformed request body"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<BaseResponseDto<Object>> handleGeneralException(Exception ex) {
         log.error("Unhandled exception: ", ex);
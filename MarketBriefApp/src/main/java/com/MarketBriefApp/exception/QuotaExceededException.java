@@ -0,0 +1,18 @@
+package com.MarketBriefApp.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+@Getter
+public class QuotaExceededException extends RuntimeException {
+
+    private final String upstream;
+    private final Duration retryAfter;
+
+    public QuotaExceededException(String upstream, Duration retryAfter) {
+        super(upstream + " quota exhausted, retry after " + Math.max(1, retryAfter.toSeconds()) + "s");
+        this.upstream = upstream;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,18 @@
+package com.MarketBriefApp.exception;
+
+import java.io.IOException;
+
+import lombok.Getter;
+
+// thrown while reading a body without Content-Length once it passes the limit,
+// an IOException so message converters pass it up as the cause of their read failure
+@Getter
+public class RequestTooLargeException extends IOException {
+
+    private final long maxBytes;
+
+    public RequestTooLargeException(long maxBytes) {
+        super("Request body exceeds " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+}
@@ -0,0 +1,19 @@
+package com.MarketBriefApp.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+// the gateway refused the call locally: the provider's circuit is open or all of its slots are busy
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final String upstream;
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String upstream, String reason, Duration retryAfter) {
+        super(upstream + " " + reason + ", retry after " + Math.max(1, retryAfter.toSeconds()) + "s");
+        this.upstream = upstream;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,16 @@
+package com.MarketBriefApp.exception;
+
+import java.time.Duration;
+
+import lombok.Getter;
+
+@Getter
+public class WriteBufferFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public WriteBufferFullException(String buffer, Duration retryAfter) {
+        super(buffer + " write buffer is full");
+        this.retryAfter = retryAfter;
+    }
+}
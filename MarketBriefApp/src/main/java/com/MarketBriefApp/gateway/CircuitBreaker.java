@@ -0,0 +1,87 @@
+package com.MarketBriefApp.gateway;
+
+import java.time.Duration;
+
+// closed until failureThreshold calls fail in a row or the provider reports a rate limit,
+// then open for openDuration: calls fail fast without touching the network. after that a
+// single trial call is let through (half open), its outcome closes or reopens the circuit
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long opened;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openNanos) return false;
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) return false;
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    // the provider asked us to back off, there is no point in sending more until it resets
+    public synchronized void onRateLimited() {
+        trialInFlight = false;
+        open();
+    }
+
+    // a call that never produced an outcome, e.g. the caller gave up, frees the trial slot
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized long openedCount() {
+        return opened;
+    }
+
+    public synchronized Duration retryAfter() {
+        long remaining = openNanos - (System.nanoTime() - openedAt);
+        return Duration.ofNanos(Math.max(remaining, 0));
+    }
+
+    private void open() {
+        if (state != State.OPEN) opened++;
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        consecutiveFailures = 0;
+    }
+}
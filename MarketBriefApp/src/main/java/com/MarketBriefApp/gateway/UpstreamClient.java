@@ -0,0 +1,161 @@
+package com.MarketBriefApp.gateway;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClient;
+
+import com.MarketBriefApp.exception.ClientAbortedException;
+import com.MarketBriefApp.exception.UpstreamUnavailableException;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.quota.Priority;
+import com.MarketBriefApp.quota.QuotaGovernor;
+
+// one upstream provider behind the shared HTTP client: its own read timeout, a bulkhead
+// that caps how many calls may be in flight to it, and a circuit breaker. a slow or failing
+// provider can hold at most maxConcurrent threads and is cut off after repeated failures,
+// so it degrades its own feature instead of the request threads everything else needs
+public class UpstreamClient {
+
+    private final String name;
+    private final RestClient restClient;
+    private final UpstreamMetrics upstreamMetrics;
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final CircuitBreaker circuitBreaker;
+
+    private long bulkheadRejections;
+    private long circuitRejections;
+
+    public UpstreamClient(String name, RestClient restClient, UpstreamMetrics upstreamMetrics, int maxConcurrent,
+            Duration maxWait, CircuitBreaker circuitBreaker) {
+        this.name = name;
+        this.restClient = restClient;
+        this.upstreamMetrics = upstreamMetrics;
+        this.bulkhead = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public <T> T call(String operation, Function<RestClient, T> call) {
+        return call(operation, null, null, call, result -> false);
+    }
+
+    public <T> T call(String operation, Function<RestClient, T> call, Predicate<T> throttled) {
+        return call(operation, null, null, call, throttled);
+    }
+
+    public <T> T call(String operation, QuotaGovernor quota, Priority priority, Function<RestClient, T> call) {
+        return call(operation, quota, priority, call, result -> false);
+    }
+
+    // throttled marks a 200 that carries the provider's rate-limit notice instead of data.
+    // the quota token is taken only once the circuit and the bulkhead have let the call in,
+    // so calls refused locally during an outage spend none of the provider's budget
+    public <T> T call(String operation, QuotaGovernor quota, Priority priority, Function<RestClient, T> call,
+            Predicate<T> throttled) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejected(true);
+            throw new UpstreamUnavailableException(name, "circuit is open", circuitBreaker.retryAfter());
+        }
+        if (!acquireSlot()) {
+            circuitBreaker.onIgnored();
+            rejected(false);
+            throw new UpstreamUnavailableException(name, "is at its concurrency limit", Duration.ofSeconds(1));
+        }
+        if (quota != null) {
+            try {
+                quota.acquire(priority);
+            } catch (Throwable e) {
+                circuitBreaker.onIgnored();
+                bulkhead.release();
+                throw e;
+            }
+        }
+
+        // settled in finally, so whatever is thrown (an Error included) frees a half-open trial slot
+        Runnable outcome = circuitBreaker::onIgnored;
+        try {
+            T result = upstreamMetrics.record(name, operation, () -> call.apply(restClient), throttled);
+            if (result != null && throttled.test(result)) {
+                outcome = circuitBreaker::onRateLimited;
+            } else {
+                outcome = circuitBreaker::onSuccess;
+            }
+            return result;
+        } catch (HttpStatusCodeException e) {
+            if (e.getStatusCode().value() == 429) {
+                outcome = circuitBreaker::onRateLimited;
+            } else if (e instanceof HttpClientErrorException) {
+                // a rejected request says nothing about the provider's health
+                outcome = circuitBreaker::onSuccess;
+            } else {
+                outcome = circuitBreaker::onFailure;
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // our own caller hanging up mid-response is no fault of the provider
+            if (!causedBy(e, ClientAbortedException.class)) {
+                outcome = circuitBreaker::onFailure;
+            }
+            throw e;
+        } finally {
+            try {
+                outcome.run();
+            } finally {
+                bulkhead.release();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int inFlight() {
+        return maxConcurrent - bulkhead.availablePermits();
+    }
+
+    public synchronized long bulkheadRejections() {
+        return bulkheadRejections;
+    }
+
+    public synchronized long circuitRejections() {
+        return circuitRejections;
+    }
+
+    private static boolean causedBy(Throwable e, Class<? extends Throwable> type) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) return true;
+        }
+        return false;
+    }
+
+    private boolean acquireSlot() {
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private synchronized void rejected(boolean circuit) {
+        if (circuit) {
+            circuitRejections++;
+        } else {
+            bulkheadRejections++;
+        }
+    }
+}
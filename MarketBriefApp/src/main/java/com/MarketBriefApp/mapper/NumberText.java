@@ -0,0 +1,65 @@
+package com.MarketBriefApp.mapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// fixed-point number text without String.format: the value is rounded to a long
+// count of hundredths (or whatever the scale is) and written digit by digit.
+// this runs for a couple of dozen fields on every overview response
+public final class NumberText {
+
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L};
+
+    // past this the scaled value no longer fits a long exactly
+    private static final double MAX_SCALED = 1e17;
+
+    private NumberText() {
+    }
+
+    public static String fixed(double value, int decimals) {
+        return appendFixed(new StringBuilder(24), value, decimals).toString();
+    }
+
+    public static StringBuilder appendFixed(StringBuilder out, double value, int decimals) {
+        long scale = POW10[decimals];
+        double scaled = Math.abs(value) * scale;
+        if (scaled >= MAX_SCALED) {
+            return out.append(new BigDecimal(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
+        }
+
+        long units = Math.round(scaled);
+        if (value < 0 && units != 0) out.append('-');
+        out.append(units / scale);
+        if (decimals > 0) {
+            out.append('.');
+            long fraction = units % scale;
+            for (long place = scale / 10; place > 1 && fraction < place; place /= 10) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+        return out;
+    }
+
+    // shortest decimal that reads back as the same double, never in exponent form, so a
+    // value parsed from "28.5" is written as 28.5 again
+    public static String plain(double value) {
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    // scales the value by the first step it reaches, e.g. 2.5e9 with {1e9, 1e6} -> "2.50B"
+    public static String compact(double value, double[] steps, String[] suffixes) {
+        StringBuilder out = new StringBuilder(16);
+        for (int i = 0; i < steps.length; i++) {
+            if (value >= steps[i]) {
+                return appendFixed(out, value / steps[i], 2).append(suffixes[i]).toString();
+            }
+        }
+        return appendFixed(out, value, 2).toString();
+    }
+
+    // alpha vantage sends ratios as fractions (0.15) but some symbols as whole percents (15)
+    public static String percent(double value) {
+        return appendFixed(new StringBuilder(12), value * (value < 1 ? 100 : 1), 2).append('%').toString();
+    }
+}
@@ -0,0 +1,132 @@
+package com.MarketBriefApp.mapper;
+
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.dto.StockOverviewRawResponseDto;
+import com.MarketBriefApp.dto.StockOverviewResponseDto;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+@Component
+public class StockOverviewMapper {
+
+    private static final double[] CAP_STEPS = {1e12, 1e9, 1e7, 1e5};
+    private static final String[] CAP_SUFFIXES = {"T", "B", "Cr", "L"};
+    private static final double[] VALUE_STEPS = {1e9, 1e6, 1e3};
+    private static final String[] VALUE_SUFFIXES = {"B", "M", "K"};
+
+    // GLOBAL_QUOTE prices and change percent come with four decimals, the response
+    // keeps them as sent. overview figures are written back as short as they came
+    private static final int QUOTE_DECIMALS = 4;
+
+    public StockOverviewResponseDto toResponse(String symbol, StockOverview overview, StockQuote quote, boolean partial) {
+        double price = quote.price();
+        double tradedValue = tradedValue(quote);
+
+        return StockOverviewResponseDto.builder()
+                .symbol(symbol.toUpperCase())
+                .name(displayName(symbol, overview))
+                .price(quoteOr(price, "0.00"))
+                .changePercent(quoteOr(quote.changePercent(), "0"))
+                .description(textOr(overview.description(), "No description available."))
+                .sector(textOr(overview.sector(), "N/A"))
+                .industry(textOr(overview.industry(), "N/A"))
+                .currency(textOr(overview.currency(), "INR"))
+                .exchange(textOr(overview.exchange(), "N/A"))
+                .country(textOr(overview.country(), "N/A"))
+                .dayHigh(quoteOr(quote.high(), "0.00"))
+                .dayLow(quoteOr(quote.low(), "0.00"))
+                .week52High(plainOr(overview.week52High(), "N/A"))
+                .week52Low(plainOr(overview.week52Low(), "N/A"))
+                .week50DayAverage(plainOr(overview.movingAverage50Day(), "N/A"))
+                .week200DayAverage(plainOr(overview.movingAverage200Day(), "N/A"))
+                .open(quoteOr(quote.open(), "0.00"))
+                .previousClose(quoteOr(quote.previousClose(), "0.00"))
+                .volume(Long.toString(quote.volume()))
+                .tradedValue(Double.isNaN(tradedValue) ? "N/A" : NumberText.compact(tradedValue, VALUE_STEPS, VALUE_SUFFIXES))
+                .upperCircuit(price > 0 ? NumberText.fixed(price * 1.20, 2) : "N/A")
+                .lowerCircuit(price > 0 ? NumberText.fixed(price * 0.80, 2) : "N/A")
+                .marketCap(Double.isNaN(overview.marketCapitalization()) ? "N/A"
+                        : NumberText.compact(overview.marketCapitalization(), CAP_STEPS, CAP_SUFFIXES))
+                .peRatio(plainOr(overview.peRatio(), "N/A"))
+                .pbRatio(plainOr(overview.priceToBookRatio(), "N/A"))
+                .industryPE("N/A")
+                .debtToEquity("N/A")
+                .roe(percentOr(overview.returnOnEquity(), "N/A"))
+                .eps(plainOr(overview.eps(), "N/A"))
+                .dividendYield(percentOr(overview.dividendYield(), "N/A"))
+                .bookValue(plainOr(overview.bookValue(), "N/A"))
+                .faceValue("N/A")
+                .analystTargetPrice(plainOr(overview.analystTargetPrice(), "N/A"))
+                .partial(partial)
+                .build();
+    }
+
+    public StockOverviewRawResponseDto toRawResponse(String symbol, StockOverview overview, StockQuote quote, boolean partial) {
+        double price = quote.price();
+
+        return StockOverviewRawResponseDto.builder()
+                .symbol(symbol.toUpperCase())
+                .name(displayName(symbol, overview))
+                .price(boxed(price))
+                .changePercent(boxed(quote.changePercent()))
+                .description(overview.description())
+                .sector(overview.sector())
+                .industry(overview.industry())
+                .currency(overview.currency())
+                .exchange(overview.exchange())
+                .country(overview.country())
+                .dayHigh(boxed(quote.high()))
+                .dayLow(boxed(quote.low()))
+                .week52High(boxed(overview.week52High()))
+                .week52Low(boxed(overview.week52Low()))
+                .open(boxed(quote.open()))
+                .previousClose(boxed(quote.previousClose()))
+                .volume(quote.isFound() ? quote.volume() : null)
+                .tradedValue(boxed(tradedValue(quote)))
+                .upperCircuit(price > 0 ? price * 1.20 : null)
+                .lowerCircuit(price > 0 ? price * 0.80 : null)
+                .week50DayAverage(boxed(overview.movingAverage50Day()))
+                .week200DayAverage(boxed(overview.movingAverage200Day()))
+                .marketCap(boxed(overview.marketCapitalization()))
+                .peRatio(boxed(overview.peRatio()))
+                .pbRatio(boxed(overview.priceToBookRatio()))
+                .roe(boxed(overview.returnOnEquity()))
+                .eps(boxed(overview.eps()))
+                .dividendYield(boxed(overview.dividendYield()))
+                .bookValue(boxed(overview.bookValue()))
+                .analystTargetPrice(boxed(overview.analystTargetPrice()))
+                .partial(partial)
+                .build();
+    }
+
+    // if API doesn't return it
+    private String displayName(String symbol, StockOverview overview) {
+        String name = overview.name();
+        return name == null || name.isEmpty() || "N/A".equals(name) ? symbol.toUpperCase() : name;
+    }
+
+    private double tradedValue(StockQuote quote) {
+        return quote.isFound() ? quote.volume() * quote.price() : Double.NaN;
+    }
+
+    private String quoteOr(double value, String missing) {
+        return Double.isNaN(value) ? missing : NumberText.fixed(value, QUOTE_DECIMALS);
+    }
+
+    private String plainOr(double value, String missing) {
+        return Double.isNaN(value) ? missing : NumberText.plain(value);
+    }
+
+    private String percentOr(double value, String missing) {
+        return Double.isNaN(value) ? missing : NumberText.percent(value);
+    }
+
+    private String textOr(String value, String missing) {
+        return value != null ? value : missing;
+    }
+
+    private Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
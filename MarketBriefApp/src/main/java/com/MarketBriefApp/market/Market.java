@@ -0,0 +1,34 @@
+package com.MarketBriefApp.market;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+// regular cash sessions, local exchange time. pre-open and after-hours trading are not
+// covered by the quotes we show, so they count as closed
+public enum Market {
+    US(ZoneId.of("America/New_York"), LocalTime.of(9, 30), LocalTime.of(16, 0)),
+    // NSE and BSE share one session and one holiday list
+    INDIA(ZoneId.of("Asia/Kolkata"), LocalTime.of(9, 15), LocalTime.of(15, 30));
+
+    private final ZoneId zone;
+    private final LocalTime open;
+    private final LocalTime close;
+
+    Market(ZoneId zone, LocalTime open, LocalTime close) {
+        this.zone = zone;
+        this.open = open;
+        this.close = close;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public LocalTime getOpen() {
+        return open;
+    }
+
+    public LocalTime getClose() {
+        return close;
+    }
+}
@@ -0,0 +1,143 @@
+package com.MarketBriefApp.market;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// trading sessions for the markets we quote, used to decide whether a price can have
+// moved since it was fetched. a session counts as running from the open until
+// close-grace after the close, long enough for the closing auction price to reach the
+// upstreams. weekends and the configured holidays have no session
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MarketCalendar {
+
+    // longer than any run of weekend days and holidays
+    private static final int MAX_DAYS_WITHOUT_SESSION = 14;
+
+    @Value("${app.market.close-grace}")
+    private Duration closeGrace;
+
+    @Value("${app.market.us.holidays}")
+    private List<String> usHolidays;
+
+    @Value("${app.market.india.holidays}")
+    private List<String> indiaHolidays;
+
+    private final SymbolIndex symbolIndex;
+
+    private final Map<Market, Set<LocalDate>> holidays = new EnumMap<>(Market.class);
+
+    @PostConstruct
+    void loadHolidays() {
+        holidays.put(Market.US, parse(usHolidays));
+        holidays.put(Market.INDIA, parse(indiaHolidays));
+        log.info("Market calendar has {} US and {} Indian holidays", holidays.get(Market.US).size(),
+                holidays.get(Market.INDIA).size());
+    }
+
+    // the listing exchange when the symbol is in the index, otherwise its suffix:
+    // .NSE/.BSE (Alpha Vantage) and .NS/.BO (Yahoo) are Indian, anything else is US
+    public Market marketOf(String symbol) {
+        Market listed = marketOf(symbolIndex.exchangeOf(symbol), null);
+        if (listed != null) return listed;
+
+        String upper = symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+        int dot = upper.lastIndexOf('.');
+        String suffix = dot >= 0 ? upper.substring(dot + 1) : "";
+        return switch (suffix) {
+            case "NSE", "BSE", "NS", "BO" -> Market.INDIA;
+            default -> Market.US;
+        };
+    }
+
+    // from the exchange and currency of an overview, null when neither says
+    public Market marketOf(String exchange, String currency) {
+        if (exchange != null) {
+            String upper = exchange.trim().toUpperCase(Locale.ROOT);
+            if (upper.equals("NSE") || upper.equals("BSE")) return Market.INDIA;
+            if (upper.startsWith("NYSE") || upper.startsWith("NASDAQ") || upper.equals("BATS")) return Market.US;
+        }
+        if (currency != null) {
+            String upper = currency.trim().toUpperCase(Locale.ROOT);
+            if (upper.equals("INR")) return Market.INDIA;
+            if (upper.equals("USD")) return Market.US;
+        }
+        return null;
+    }
+
+    public boolean isOpen(Market market, Instant at) {
+        ZonedDateTime local = at.atZone(market.getZone());
+        if (!isTradingDay(market, local.toLocalDate())) return false;
+        return !at.isBefore(openOn(market, local.toLocalDate())) && at.isBefore(closeOn(market, local.toLocalDate()));
+    }
+
+    // whether the upstream can have a newer price than one fetched at fetchedAt: the session
+    // is running, or one has ended since then
+    public boolean mayHaveChanged(Market market, long fetchedAt, Instant now) {
+        if (isOpen(market, now)) return true;
+        Instant lastClose = lastClose(market, now);
+        return lastClose == null || fetchedAt < lastClose.toEpochMilli();
+    }
+
+    // zero while the session runs
+    public Duration untilNextOpen(Market market, Instant now) {
+        if (isOpen(market, now)) return Duration.ZERO;
+        LocalDate day = now.atZone(market.getZone()).toLocalDate();
+        for (int i = 0; i <= MAX_DAYS_WITHOUT_SESSION; i++, day = day.plusDays(1)) {
+            Instant open = openOn(market, day);
+            if (isTradingDay(market, day) && open.isAfter(now)) return Duration.between(now, open);
+        }
+        return Duration.ofDays(MAX_DAYS_WITHOUT_SESSION);
+    }
+
+    // end of the most recent session (close plus grace) at or before now
+    Instant lastClose(Market market, Instant now) {
+        LocalDate day = now.atZone(market.getZone()).toLocalDate();
+        for (int i = 0; i <= MAX_DAYS_WITHOUT_SESSION; i++, day = day.minusDays(1)) {
+            Instant close = closeOn(market, day);
+            if (isTradingDay(market, day) && !close.isAfter(now)) return close;
+        }
+        return null;
+    }
+
+    private boolean isTradingDay(Market market, LocalDate day) {
+        DayOfWeek weekday = day.getDayOfWeek();
+        return weekday != DayOfWeek.SATURDAY && weekday != DayOfWeek.SUNDAY
+                && !holidays.getOrDefault(market, Set.of()).contains(day);
+    }
+
+    private Instant openOn(Market market, LocalDate day) {
+        return day.atTime(market.getOpen()).atZone(market.getZone()).toInstant();
+    }
+
+    private Instant closeOn(Market market, LocalDate day) {
+        return day.atTime(market.getClose()).atZone(market.getZone()).toInstant().plus(closeGrace);
+    }
+
+    private static Set<LocalDate> parse(List<String> dates) {
+        Set<LocalDate> parsed = new HashSet<>();
+        for (String date : dates) {
+            if (!date.isBlank()) parsed.add(LocalDate.parse(date.trim()));
+        }
+        return parsed;
+    }
+}
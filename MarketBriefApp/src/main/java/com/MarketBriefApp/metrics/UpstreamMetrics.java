@@ -0,0 +1,94 @@
+package com.MarketBriefApp.metrics;
+
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+// one timer for every call that actually leaves the process, tagged by provider,
+// operation and how it ended. quota waits and cache hits are not part of it
+@Component
+@RequiredArgsConstructor
+public class UpstreamMetrics {
+
+    public static final String REQUESTS = "upstream.requests";
+    public static final String RATE_LIMITED = "upstream.rate.limited";
+    public static final String DEADLINE_MISSES = "upstream.deadline.misses";
+
+    private final MeterRegistry registry;
+
+    public <T> T record(String upstream, String operation, Supplier<T> call) {
+        return record(upstream, operation, call, result -> false);
+    }
+
+    // throttled marks a 200 that carries the provider's rate-limit notice instead of data
+    public <T> T record(String upstream, String operation, Supplier<T> call, Predicate<T> throttled) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            T result = call.get();
+            boolean limited = result != null && throttled.test(result);
+            if (limited) {
+                rateLimited(upstream, operation);
+            }
+            stop(sample, upstream, operation, limited ? "throttled" : "success", "none");
+            return result;
+        } catch (HttpStatusCodeException e) {
+            boolean limited = e.getStatusCode().value() == 429;
+            if (limited) {
+                rateLimited(upstream, operation);
+            }
+            stop(sample, upstream, operation, limited ? "throttled" : "error", e.getClass().getSimpleName());
+            throw e;
+        } catch (RuntimeException e) {
+            stop(sample, upstream, operation, isTimeout(e) ? "timeout" : "error", e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    public void rateLimited(String upstream, String operation) {
+        Counter.builder(RATE_LIMITED)
+                .description("Upstream responses that reported a rate limit")
+                .tag("upstream", upstream)
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    // a caller stopped waiting for the call, it may still complete and fill the cache
+    public void deadlineMissed(String upstream, String operation) {
+        Counter.builder(DEADLINE_MISSES)
+                .description("Upstream calls a request stopped waiting for")
+                .tag("upstream", upstream)
+                .tag("operation", operation)
+                .register(registry)
+                .increment();
+    }
+
+    private void stop(Timer.Sample sample, String upstream, String operation, String outcome, String exception) {
+        sample.stop(Timer.builder(REQUESTS)
+                .description("Calls to upstream providers")
+                .tag("upstream", upstream)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static boolean isTimeout(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
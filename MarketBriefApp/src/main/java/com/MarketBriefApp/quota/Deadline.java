@@ -0,0 +1,33 @@
+package com.MarketBriefApp.quota;
+
+import java.util.function.Supplier;
+
+// when (System.nanoTime) the request a thread works for stops waiting on the upstream.
+// work run through within() carries it down to QuotaGovernor, which then never queues
+// past it: a token taken after the caller gave up would be spent on an abandoned request
+public final class Deadline {
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private Deadline() {
+    }
+
+    public static <T> T within(long deadlineNanos, Supplier<T> work) {
+        Long previous = CURRENT.get();
+        CURRENT.set(deadlineNanos);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    // null outside within()
+    static Long current() {
+        return CURRENT.get();
+    }
+}
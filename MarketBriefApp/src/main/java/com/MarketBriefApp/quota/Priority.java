@@ -0,0 +1,8 @@
+package com.MarketBriefApp.quota;
+
+public enum Priority {
+    // a user is waiting on the result
+    INTERACTIVE,
+    // cache refreshes and other work nobody is blocked on
+    BACKGROUND
+}
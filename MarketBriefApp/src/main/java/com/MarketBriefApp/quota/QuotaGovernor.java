@@ -0,0 +1,173 @@
+package com.MarketBriefApp.quota;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import com.MarketBriefApp.exception.QuotaExceededException;
+
+// token bucket for one upstream: a per-minute bucket that refills continuously and a
+// per-day budget that resets at UTC midnight. interactive callers may queue for up to
+// maxWait, or until their request's Deadline if that comes first. background callers
+// never queue and cannot touch the reserved share
+public class QuotaGovernor {
+
+    private final String name;
+    private final int perMinute;
+    private final int perDay;
+    private final long maxWaitNanos;
+    private final double backgroundReserve;
+    private final Clock clock;
+    private final LongSupplier nanoTime;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double minuteTokens;
+    private long lastRefillNanos;
+    private LocalDate day;
+    private int usedToday;
+    private int interactiveWaiting;
+    private long rejections;
+
+    public QuotaGovernor(String name, int perMinute, int perDay, Duration maxWait, double backgroundReserve) {
+        this(name, perMinute, perDay, maxWait, backgroundReserve, Clock.systemUTC(), System::nanoTime);
+    }
+
+    QuotaGovernor(String name, int perMinute, int perDay, Duration maxWait, double backgroundReserve, Clock clock,
+            LongSupplier nanoTime) {
+        this.name = name;
+        this.perMinute = perMinute;
+        this.perDay = perDay;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.backgroundReserve = backgroundReserve;
+        this.clock = clock;
+        this.nanoTime = nanoTime;
+        this.minuteTokens = perMinute;
+        this.lastRefillNanos = nanoTime.getAsLong();
+        this.day = LocalDate.now(clock);
+    }
+
+    public void acquire(Priority priority) {
+        boolean background = priority == Priority.BACKGROUND;
+        double minuteFloor = background ? perMinute * backgroundReserve : 0;
+        long deadline = nanoTime.getAsLong() + maxWaitNanos;
+        Long callerDeadline = Deadline.current();
+        if (callerDeadline != null && callerDeadline - deadline < 0) {
+            deadline = callerDeadline;
+        }
+        boolean queued = false;
+
+        try {
+            while (true) {
+                long untilToken;
+                lock.lock();
+                try {
+                    refill();
+                    if (perDay > 0 && usedToday >= dailyLimit(background)) {
+                        throw reject(untilTomorrow());
+                    }
+                    if (minuteTokens >= 1 + minuteFloor && (!background || interactiveWaiting == 0)) {
+                        minuteTokens -= 1;
+                        usedToday++;
+                        return;
+                    }
+
+                    untilToken = nanosUntil(1 + minuteFloor);
+                    if (background || nanoTime.getAsLong() + untilToken - deadline > 0) {
+                        throw reject(Duration.ofNanos(untilToken));
+                    }
+                    if (!queued) {
+                        interactiveWaiting++;
+                        queued = true;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                // tokens only come back with time, so the wait is a sleep outside the lock
+                TimeUnit.NANOSECONDS.sleep(untilToken);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lock.lock();
+            try {
+                throw reject(Duration.ofNanos(nanosUntil(1)));
+            } finally {
+                lock.unlock();
+            }
+        } finally {
+            if (queued) {
+                lock.lock();
+                try {
+                    interactiveWaiting--;
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // 0 when there is no daily cap
+    public int getPerDay() {
+        return perDay;
+    }
+
+    // requests turned away since startup, for the quota.rejections meter
+    public long rejectedCount() {
+        lock.lock();
+        try {
+            return rejections;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int remainingToday() {
+        lock.lock();
+        try {
+            refill();
+            return perDay > 0 ? Math.max(0, perDay - usedToday) : Integer.MAX_VALUE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // called with the lock held
+    private QuotaExceededException reject(Duration retryAfter) {
+        rejections++;
+        return new QuotaExceededException(name, retryAfter);
+    }
+
+    private void refill() {
+        long now = nanoTime.getAsLong();
+        double refillPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        minuteTokens = Math.min(perMinute, minuteTokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+
+        LocalDate today = LocalDate.now(clock);
+        if (!today.equals(day)) {
+            day = today;
+            usedToday = 0;
+        }
+    }
+
+    private int dailyLimit(boolean background) {
+        return background ? (int) (perDay * (1 - backgroundReserve)) : perDay;
+    }
+
+    private long nanosUntil(double tokens) {
+        double missing = Math.max(0, tokens - minuteTokens);
+        return (long) Math.ceil(missing * TimeUnit.MINUTES.toNanos(1) / perMinute);
+    }
+
+    private Duration untilTomorrow() {
+        return Duration.between(clock.instant(), day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+    }
+}
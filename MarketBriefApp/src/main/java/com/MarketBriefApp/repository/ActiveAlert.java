@@ -0,0 +1,7 @@
+package com.MarketBriefApp.repository;
+
+import com.MarketBriefApp.entity.AlertType;
+
+// what the alert engine keeps of an active alert
+public record ActiveAlert(Long id, Long userId, String symbol, AlertType type, double threshold) {
+}
@@ -0,0 +1,31 @@
+package com.MarketBriefApp.repository;
+
+import com.MarketBriefApp.entity.PriceAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceAlertRepository extends JpaRepository<PriceAlert, Long> {
+
+    @Query("select new com.MarketBriefApp.repository.ActiveAlert(a.id, a.user.id, a.symbol, a.type, a.threshold) "
+            + "from PriceAlert a where a.active = true")
+    List<ActiveAlert> findAllActive();
+
+    List<PriceAlert> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    Optional<PriceAlert> findByIdAndUserId(Long id, Long userId);
+
+    long countByUserIdAndActiveTrue(Long userId);
+
+    @Modifying
+    @Transactional
+    @Query("update PriceAlert a set a.active = false, a.triggeredAt = :at where a.id in :ids")
+    int markTriggered(@Param("ids") Collection<Long> ids, @Param("at") LocalDateTime at);
+}
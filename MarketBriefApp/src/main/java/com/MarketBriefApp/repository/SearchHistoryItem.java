@@ -0,0 +1,7 @@
+package com.MarketBriefApp.repository;
+
+import java.time.LocalDateTime;
+
+// history list row without the ai summary
+public record SearchHistoryItem(Long id, String symbol, String name, LocalDateTime timestamp) {
+}
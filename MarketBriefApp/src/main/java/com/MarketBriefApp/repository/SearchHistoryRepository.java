@@ -2,8 +2,14 @@ package com.MarketBriefApp.repository;
 
 import com.MarketBriefApp.entity.SearchHistory;
 import com.MarketBriefApp.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface SearchHistoryRepository extends JpaRepository<SearchHistory, Long> {
     List<SearchHistory> findByUserOrderByTimestampDesc(User user);
@@ -11,4 +17,24 @@ public interface SearchHistoryRepository extends JpaRepository<SearchHistory, Lo
     boolean existsByUserAndSymbol(User user, String symbol);
 
     void deleteByUserAndSymbol(User user, String symbol);
+
+    Optional<SearchHistory> findByIdAndUserId(Long id, Long userId);
+
+    // keyset pages ordered by (timestamp, id) descending, served from the composite index
+    @Query("select new com.MarketBriefApp.repository.SearchHistoryItem(h.id, h.symbol, h.name, h.timestamp) "
+            + "from SearchHistory h where h.user.id = :userId "
+            + "order by h.timestamp desc, h.id desc")
+    List<SearchHistoryItem> findFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("select new com.MarketBriefApp.repository.SearchHistoryItem(h.id, h.symbol, h.name, h.timestamp) "
+            + "from SearchHistory h where h.user.id = :userId "
+            + "and (h.timestamp < :timestamp or (h.timestamp = :timestamp and h.id < :id)) "
+            + "order by h.timestamp desc, h.id desc")
+    List<SearchHistoryItem> findPageAfter(@Param("userId") Long userId, @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") Long id, Limit limit);
+
+    // every user's lookups since a point in time, newest first, read from idx_search_history_ts
+    @Query("select new com.MarketBriefApp.repository.SymbolLookup(h.symbol, h.timestamp) "
+            + "from SearchHistory h where h.timestamp >= :since order by h.timestamp desc")
+    List<SymbolLookup> findLookupsSince(@Param("since") LocalDateTime since, Limit limit);
 }
@@ -0,0 +1,7 @@
+package com.MarketBriefApp.repository;
+
+import java.time.LocalDateTime;
+
+// one symbol a user looked at and when, for popularity ranking
+public record SymbolLookup(String symbol, LocalDateTime timestamp) {
+}
@@ -0,0 +1,23 @@
+package com.MarketBriefApp.repository;
+
+import com.MarketBriefApp.entity.WatchlistItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface WatchlistRepository extends JpaRepository<WatchlistItem, Long> {
+
+    // symbols only, in the order they were added
+    @Query("select w.symbol from WatchlistItem w where w.user.id = :userId order by w.addedAt, w.id")
+    List<String> findSymbolsByUserId(@Param("userId") Long userId);
+
+    boolean existsByUserIdAndSymbol(Long userId, String symbol);
+
+    long countByUserId(Long userId);
+
+    @Transactional
+    long deleteByUserIdAndSymbol(Long userId, String symbol);
+}
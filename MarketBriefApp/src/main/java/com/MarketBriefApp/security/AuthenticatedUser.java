@@ -0,0 +1,20 @@
+package com.MarketBriefApp.security;
+
+import java.util.List;
+
+import org.springframework.security.core.userdetails.User;
+
+import lombok.Getter;
+
+// principal for token-authenticated requests, carries the user id so handlers
+// do not need to look the user up again. it never holds the password hash
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long id;
+
+    public AuthenticatedUser(Long id, String email) {
+        super(email, "", List.of());
+        this.id = id;
+    }
+}
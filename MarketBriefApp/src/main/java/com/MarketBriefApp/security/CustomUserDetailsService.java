@@ -1,7 +1,9 @@
 package com.MarketBriefApp.security;
 
+import com.MarketBriefApp.config.CacheConfig;
 import com.MarketBriefApp.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,6 +17,7 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // used by the login flow, which needs the password hash, so it is never cached
     @Override
     public UserDetails loadUserByUsername(String userEmail) throws UsernameNotFoundException {
         com.MarketBriefApp.entity.User user = userRepository.findByEmail(userEmail)
@@ -25,4 +28,13 @@ public class CustomUserDetailsService implements UserDetailsService {
                 user.getPassword(),
                 new ArrayList<>());
     }
+
+    // used for every token-authenticated request, a short-lived cache saves the DB round trip
+    @Cacheable(cacheNames = CacheConfig.PRINCIPAL_CACHE, sync = true)
+    public AuthenticatedUser loadPrincipal(String userEmail) throws UsernameNotFoundException {
+        com.MarketBriefApp.entity.User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail));
+
+        return new AuthenticatedUser(user.getId(), user.getEmail());
+    }
 }
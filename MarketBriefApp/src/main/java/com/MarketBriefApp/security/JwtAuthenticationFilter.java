@@ -5,17 +5,25 @@ import java.io.IOException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,13 +31,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	@Autowired
 	private final JwtUtil jwtUtil;
 	private final CustomUserDetailsService userDetailsService;
+	private final MeterRegistry meterRegistry;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 		final String authHeader = request.getHeader("Authorization");
 		final String jwt;
-		final String userEmail;
 
 		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
 			filterChain.doFilter(request, response);
@@ -38,20 +46,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 		jwt = authHeader.substring(7);
 		try {
-			userEmail = jwtUtil.extractUsername(jwt);
+			// one signature check, parseClaims also rejects expired tokens
+			final String userEmail = jwtUtil.parseClaims(jwt).getSubject();
 			if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-				UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-				if (jwtUtil.isTokenValid(jwt, userDetails)) {
-					UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails,
-							null, userDetails.getAuthorities());
-					authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-					SecurityContextHolder.getContext().setAuthentication(authToken);
-				}
+				AuthenticatedUser principal = this.userDetailsService.loadPrincipal(userEmail);
+				UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(principal,
+						null, principal.getAuthorities());
+				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+				SecurityContextHolder.getContext().setAuthentication(authToken);
 			}
 		} catch (Exception e) {
-			// Token validation failed
-			e.printStackTrace();
+			// Token validation failed, the request continues unauthenticated
+			String reason = failureReason(e);
+			Counter.builder("auth.jwt.failures")
+					.description("Bearer tokens that did not authenticate a request")
+					.tag("reason", reason)
+					.register(meterRegistry)
+					.increment();
+			log.debug("JWT rejected ({}): {}", reason, e.getMessage());
 		}
 		filterChain.doFilter(request, response);
 	}
+
+	private static String failureReason(Exception e) {
+		if (e instanceof ExpiredJwtException) return "expired";
+		if (e instanceof SignatureException) return "signature";
+		if (e instanceof MalformedJwtException) return "malformed";
+		if (e instanceof UsernameNotFoundException) return "unknown_user";
+		if (e instanceof JwtException || e instanceof IllegalArgumentException) return "invalid";
+		return "error";
+	}
 }
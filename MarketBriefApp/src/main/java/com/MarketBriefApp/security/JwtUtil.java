@@ -1,8 +1,10 @@
 package com.MarketBriefApp.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -23,12 +25,29 @@ public class JwtUtil {
      @Value("${app.jwt.expiration}")
     private long jwtExpiration;
 
+    // key and parser are immutable and thread-safe, build them once
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+    }
+
+    // verifies the signature and expiry in one pass, throws JwtException when either fails
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
@@ -42,33 +61,12 @@ public class JwtUtil {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        final Claims claims = parseClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 }
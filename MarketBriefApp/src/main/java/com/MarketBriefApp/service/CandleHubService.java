@@ -0,0 +1,246 @@
+package com.MarketBriefApp.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.MarketBriefApp.cache.SingleFlight;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.dto.CandleDto;
+import com.MarketBriefApp.market.Market;
+import com.MarketBriefApp.market.MarketCalendar;
+import com.MarketBriefApp.service.external.YahooChartService;
+import com.MarketBriefApp.timeseries.CandleStore;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// keeps today's 1m candles in memory for every watched symbol. each symbol is polled
+// once per tick no matter how many tabs watch it, and subscribers only receive the
+// candles that changed since the previous poll. outside its market's session a symbol
+// is polled once more after the close and then left alone until the next open
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleHubService {
+
+    private static final int MAX_PENDING = 500;
+
+    @Value("${app.candles.stream-timeout}")
+    private Duration streamTimeout;
+
+    @Value("${app.candles.idle-retention}")
+    private Duration idleRetention;
+
+    private final YahooChartService chartService;
+    private final CandleStore candleStore;
+    private final ExecutorService upstreamExecutor;
+    private final MarketCalendar marketCalendar;
+
+    private final SingleFlightRegistry singleFlights;
+
+    private final ConcurrentMap<String, Feed> feeds = new ConcurrentHashMap<>();
+    private SingleFlight<List<CandleDto>> loads;
+
+    @PostConstruct
+    void initLoads() {
+        loads = singleFlights.create("yahooIntraday");
+    }
+
+    public List<CandleDto> getSnapshot(String symbol) {
+        Feed feed = feed(symbol);
+        synchronized (feed) {
+            return List.copyOf(feed.candles);
+        }
+    }
+
+    public SseEmitter subscribe(String symbol) {
+        Feed feed = feed(symbol);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> feed.subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> feed.subscribers.remove(subscriber));
+
+        // queued under the feed lock so the snapshot goes out before any later update
+        synchronized (feed) {
+            feed.subscribers.add(subscriber);
+            enqueue(feed, subscriber, new Event("snapshot", List.copyOf(feed.candles)));
+        }
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.candles.poll-interval-ms}")
+    public void pollWatchedSymbols() {
+        long now = System.currentTimeMillis();
+        feeds.values().removeIf(feed -> feed.subscribers.isEmpty()
+                && now - feed.lastAccess > idleRetention.toMillis());
+
+        Instant at = Instant.ofEpochMilli(now);
+        for (Feed feed : feeds.values()) {
+            if (feed.subscribers.isEmpty() || !marketCalendar.mayHaveChanged(feed.market, feed.lastPolled, at)) continue;
+            if (feed.polling.compareAndSet(false, true)) {
+                upstreamExecutor.execute(() -> {
+                    try {
+                        poll(feed);
+                    } finally {
+                        feed.polling.set(false);
+                    }
+                });
+            }
+        }
+    }
+
+    // the first load goes out once per symbol however many requests race for it, and
+    // outside the feed lock, so nobody holds the monitor across a network call
+    private Feed feed(String symbol) {
+        Feed feed = feeds.computeIfAbsent(symbol.trim().toUpperCase(),
+                key -> new Feed(key, marketCalendar.marketOf(key)));
+        feed.lastAccess = System.currentTimeMillis();
+        if (feed.loaded) return feed;
+
+        long startedAt = System.currentTimeMillis();
+        List<CandleDto> bars = loads.execute(feed.symbol, () -> chartService.getIntradayCandles(feed.symbol));
+        boolean first;
+        synchronized (feed) {
+            first = !feed.loaded;
+            if (first) {
+                feed.candles.addAll(bars);
+                feed.lastPolled = startedAt;
+                feed.loaded = true;
+            }
+        }
+        if (first) {
+            candleStore.append(feed.symbol, "1m", bars);
+        }
+        return feed;
+    }
+
+    private void poll(Feed feed) {
+        List<CandleDto> latest;
+        try {
+            long startedAt = System.currentTimeMillis();
+            latest = chartService.getIntradayCandles(feed.symbol);
+            feed.lastPolled = startedAt;
+        } catch (Exception e) {
+            log.warn("Intraday poll for {} failed: {}", feed.symbol, e.getMessage());
+            return;
+        }
+        if (latest.isEmpty()) return;
+
+        List<CandleDto> changed = new ArrayList<>();
+        synchronized (feed) {
+            // a new session starts with a different first bar, clients need a fresh snapshot
+            if (feed.candles.isEmpty() || feed.candles.get(0).getT() != latest.get(0).getT()) {
+                feed.candles.clear();
+                feed.candles.addAll(latest);
+                changed.addAll(latest);
+                broadcast(feed, new Event("snapshot", List.copyOf(latest)));
+            } else {
+                // only the last known bar can still change, everything after it is new
+                for (int i = feed.candles.size() - 1; i < latest.size(); i++) {
+                    CandleDto candle = latest.get(i);
+                    if (i < feed.candles.size()) {
+                        if (candle.equals(feed.candles.get(i))) continue;
+                        feed.candles.set(i, candle);
+                    } else {
+                        feed.candles.add(candle);
+                    }
+                    changed.add(candle);
+                    broadcast(feed, new Event("candle", candle));
+                }
+            }
+        }
+        // polled bars double as 1m history, so the store fills without extra calls
+        candleStore.append(feed.symbol, "1m", changed);
+    }
+
+    // called with the feed lock held, which only orders the events: sending happens on
+    // each subscriber's own drain task
+    private void broadcast(Feed feed, Event event) {
+        for (Subscriber subscriber : feed.subscribers) {
+            enqueue(feed, subscriber, event);
+        }
+    }
+
+    // a client that falls MAX_PENDING events behind is dropped rather than buffered forever
+    private void enqueue(Feed feed, Subscriber subscriber, Event event) {
+        if (subscriber.size.incrementAndGet() > MAX_PENDING) {
+            feed.subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(new IllegalStateException("Candle stream client is too slow"));
+            return;
+        }
+        subscriber.pending.add(event);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            upstreamExecutor.execute(() -> drain(feed, subscriber));
+        }
+    }
+
+    // sends queued events in order, one drain task per subscriber at a time, so a slow
+    // client only ever holds up its own stream
+    private void drain(Feed feed, Subscriber subscriber) {
+        do {
+            Event event;
+            while ((event = subscriber.pending.poll()) != null) {
+                subscriber.size.decrementAndGet();
+                try {
+                    subscriber.emitter.send(SseEmitter.event().name(event.name()).data(event.data()));
+                } catch (IOException | IllegalStateException e) {
+                    feed.subscribers.remove(subscriber);
+                    subscriber.pending.clear();
+                    subscriber.emitter.completeWithError(e);
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private static final class Feed {
+        private final String symbol;
+        private final Market market;
+        private final List<CandleDto> candles = new ArrayList<>();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean polling = new AtomicBoolean();
+        private volatile long lastAccess;
+        // when the last poll that got an answer started
+        private volatile long lastPolled;
+        private volatile boolean loaded;
+
+        private Feed(String symbol, Market market) {
+            this.symbol = symbol;
+            this.market = market;
+        }
+    }
+
+    // an event builder is consumed by sending it, so each subscriber builds its own
+    private record Event(String name, Object data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.MarketBriefApp.service;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.MarketBriefApp.exception.WriteBufferFullException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+// write-behind buffer for search history. requests only enqueue, a single writer
+// thread flushes the queue as multi-row JDBC batches once batch-size entries are
+// waiting or flush-interval has passed. Hibernate cannot batch IDENTITY inserts
+// because it needs every generated key back, plain JDBC does not ask for them
+@Slf4j
+@Service
+public class HistoryWriteBuffer {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO search_history (user_id, symbol, name, ai_summary, timestamp) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration offerTimeout;
+    private final Duration readWait;
+
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    // held while entries are taken off the queue and written, so a flush() caller
+    // returns only after everything enqueued before it is in the table
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // entries each user has queued that the writer has not finished with yet;
+    // readers wait on this rather than draining the whole queue themselves
+    private final ConcurrentMap<Long, Integer> pendingByUser = new ConcurrentHashMap<>();
+    private final Object written = new Object();
+
+    private volatile boolean accepting = true;
+    private Thread writer;
+
+    public HistoryWriteBuffer(JdbcTemplate jdbcTemplate,
+            @Value("${app.history.buffer.capacity}") int capacity,
+            @Value("${app.history.buffer.batch-size}") int batchSize,
+            @Value("${app.history.buffer.flush-interval}") Duration flushInterval,
+            @Value("${app.history.buffer.offer-timeout}") Duration offerTimeout,
+            @Value("${app.history.buffer.read-wait}") Duration readWait,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.offerTimeout = offerTimeout;
+        this.readWait = readWait;
+
+        this.batchTimer = Timer.builder("history.write.batch")
+                .description("Search history batch inserts")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("history.write.batch.size")
+                .description("Rows per search history batch insert")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("history.write.rejected")
+                .description("Search history entries refused because the buffer was full")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("history.write.dropped")
+                .description("Search history entries lost to a failed insert")
+                .register(meterRegistry);
+        Gauge.builder("history.write.pending", queue, BlockingQueue::size)
+                .description("Search history entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        writer = Thread.ofPlatform().name("history-writer").daemon().start(this::runWriter);
+    }
+
+    // blocks for at most offer-timeout when the buffer is full, then pushes back on the caller
+    public void enqueue(Long userId, String symbol, String name, String aiSummary) {
+        if (!accepting) {
+            throw new WriteBufferFullException("Search history", flushInterval);
+        }
+        Entry entry = new Entry(userId, symbol, name, aiSummary, LocalDateTime.now());
+        // counted before the offer so the writer can never finish an entry that is not yet counted
+        pendingByUser.merge(userId, 1, Integer::sum);
+        boolean queued = false;
+        try {
+            queued = queue.offer(entry, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (!queued) {
+                rejected.increment();
+                throw new WriteBufferFullException("Search history", flushInterval);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBufferFullException("Search history", flushInterval);
+        } finally {
+            if (!queued) {
+                release(userId);
+            }
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // blocks until the writer has finished with everything this user queued so far, for at most
+    // read-wait. the writer thread does the work, the caller only wakes it and waits
+    public void awaitWritten(Long userId) {
+        long deadline = System.nanoTime() + readWait.toNanos();
+        LockSupport.unpark(writer);
+        synchronized (written) {
+            long remaining;
+            while (pendingByUser.containsKey(userId) && (remaining = deadline - System.nanoTime()) > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(written, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // writes everything currently queued, only the writer thread and shutdown call it
+    void flush() {
+        flushLock.lock();
+        try {
+            List<Entry> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                write(batch);
+                batch.forEach(entry -> release(entry.userId()));
+                batch.clear();
+                synchronized (written) {
+                    written.notifyAll();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    void drain() throws InterruptedException {
+        accepting = false;
+        LockSupport.unpark(writer);
+        writer.join(flushInterval.multipliedBy(10).toMillis());
+        // anything that slipped in while the writer was finishing
+        flush();
+    }
+
+    private void runWriter() {
+        while (accepting) {
+            LockSupport.parkNanos(flushInterval.toNanos());
+            flush();
+        }
+        flush();
+    }
+
+    private void release(Long userId) {
+        pendingByUser.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void write(List<Entry> batch) {
+        batchSizes.record(batch.size());
+        try {
+            batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry.userId());
+                ps.setString(2, entry.symbol());
+                ps.setString(3, entry.name());
+                ps.setString(4, entry.aiSummary());
+                ps.setTimestamp(5, Timestamp.valueOf(entry.timestamp()));
+            }));
+        } catch (RuntimeException e) {
+            BatchUpdateException batchFailure = batchFailure(e);
+            if (batchFailure == null) {
+                dropped.increment(batch.size());
+                // a failed batch is dropped rather than retried forever; history is best effort
+                log.error("Dropping {} search history entries: {}", batch.size(), e.getMessage());
+                return;
+            }
+            writeOneByOne(batch, batchFailure.getUpdateCounts());
+        }
+    }
+
+    // a row the database rejected fails the whole batch, so the rows the driver did not
+    // report as written are retried alone and only the ones that fail again are dropped
+    private void writeOneByOne(List<Entry> batch, int[] updateCounts) {
+        int failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                continue;
+            }
+            Entry entry = batch.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, entry.userId(), entry.symbol(), entry.name(),
+                        entry.aiSummary(), Timestamp.valueOf(entry.timestamp()));
+            } catch (RuntimeException e) {
+                failed++;
+                log.warn("Dropping search history entry for {}: {}", entry.symbol(), e.getMessage());
+            }
+        }
+        dropped.increment(failed);
+    }
+
+    private static BatchUpdateException batchFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchUpdateException batchFailure) {
+                return batchFailure;
+            }
+        }
+        return null;
+    }
+
+    private record Entry(Long userId, String symbol, String name, String aiSummary, LocalDateTime timestamp) {
+    }
+}
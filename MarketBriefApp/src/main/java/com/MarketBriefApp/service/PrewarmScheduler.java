@@ -0,0 +1,168 @@
+package com.MarketBriefApp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.MarketBriefApp.exception.QuotaExceededException;
+import com.MarketBriefApp.exception.UpstreamUnavailableException;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.repository.SearchHistoryRepository;
+import com.MarketBriefApp.repository.SymbolLookup;
+import com.MarketBriefApp.service.external.NewsExternalService;
+import com.MarketBriefApp.service.external.StockExternalService;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// keeps the data behind the most looked-at symbols warm. symbols are ranked by their
+// lookups in search history, each lookup counting half as much per half-life of age,
+// and every interval the quote, overview and news of the top ones are fetched shortly
+// before their cache entries would expire, so users asking for popular names are
+// answered from memory. caches whose entries live barely longer than lead past their
+// refresh age (quotes, by default) are skipped, see RefreshingCache.prewarm. fetches
+// run at background priority on virtual threads, one upstream at a time in popularity
+// order. an upstream is left alone for the rest of a round once it refuses (quota,
+// open circuit) or its remaining daily budget falls to keep-daily-share, which stays
+// reserved for lookups nobody predicted
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrewarmScheduler {
+
+    @Value("${app.prewarm.enabled}")
+    private boolean enabled;
+
+    @Value("${app.prewarm.top-n}")
+    private int topN;
+
+    @Value("${app.prewarm.window}")
+    private Duration window;
+
+    @Value("${app.prewarm.half-life}")
+    private Duration halfLife;
+
+    @Value("${app.prewarm.max-lookups}")
+    private int maxLookups;
+
+    @Value("${app.prewarm.rank-interval}")
+    private Duration rankInterval;
+
+    @Value("${app.prewarm.lead}")
+    private Duration lead;
+
+    @Value("${app.prewarm.keep-daily-share}")
+    private double keepDailyShare;
+
+    private final SearchHistoryRepository historyRepository;
+    private final StockExternalService stockService;
+    private final NewsExternalService newsService;
+    private final QuotaGovernor alphaVantageQuota;
+    private final QuotaGovernor newsApiQuota;
+    private final SymbolIndex symbolIndex;
+    private final ExecutorService upstreamExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile List<String> popular = List.of();
+    private volatile Instant rankedAt = Instant.MIN;
+
+    // a round still fetching when the next one is due is left to finish, rounds never overlap
+    @Scheduled(fixedDelayString = "${app.prewarm.interval-ms}")
+    public void prewarm() {
+        if (!enabled || !running.compareAndSet(false, true)) return;
+
+        List<String> symbols;
+        try {
+            symbols = popularSymbols();
+        } catch (RuntimeException e) {
+            log.warn("Could not rank popular symbols: {}", e.getMessage());
+            running.set(false);
+            return;
+        }
+        if (symbols.isEmpty()) {
+            running.set(false);
+            return;
+        }
+
+        CompletableFuture<Integer> alphaVantage = CompletableFuture.supplyAsync(() -> warm(symbols, alphaVantageQuota,
+                List.of(symbol -> stockService.prewarmQuote(symbol, lead),
+                        symbol -> stockService.prewarmOverview(symbol, lead))), upstreamExecutor);
+        CompletableFuture<Integer> news = CompletableFuture.supplyAsync(() -> warm(symbols, newsApiQuota,
+                List.of(symbol -> newsService.prewarmNews(symbol, lead))), upstreamExecutor);
+
+        alphaVantage.thenCombine(news, (stockFetches, newsFetches) -> {
+            log.debug("Prewarmed {} popular symbols with {} Alpha Vantage and {} NewsAPI refreshes", symbols.size(),
+                    stockFetches, newsFetches);
+            return null;
+        }).whenComplete((ignored, e) -> running.set(false));
+    }
+
+    List<String> popularSymbols() {
+        if (Duration.between(rankedAt, Instant.now()).compareTo(rankInterval) < 0) return popular;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SymbolLookup> lookups = historyRepository.findLookupsSince(now.minus(window), Limit.of(maxLookups))
+                .stream()
+                .filter(lookup -> lookup.symbol() != null && symbolIndex.accepts(lookup.symbol()))
+                .toList();
+        popular = rank(lookups, now, halfLife, topN);
+        rankedAt = Instant.now();
+        return popular;
+    }
+
+    // decayed lookup counts, highest first. ties go to the alphabetically first symbol
+    // so the order is stable between rounds
+    static List<String> rank(List<SymbolLookup> lookups, LocalDateTime now, Duration halfLife, int limit) {
+        double decayPerMilli = Math.log(2) / halfLife.toMillis();
+        Map<String, Double> scores = new HashMap<>();
+        for (SymbolLookup lookup : lookups) {
+            long ageMillis = Math.max(0, Duration.between(lookup.timestamp(), now).toMillis());
+            scores.merge(lookup.symbol().trim().toUpperCase(Locale.ROOT), Math.exp(-ageMillis * decayPerMilli),
+                    Double::sum);
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // number of refreshes made, answered from a snapshot while the market is closed
+    private int warm(List<String> symbols, QuotaGovernor quota, List<Predicate<String>> steps) {
+        int fetched = 0;
+        for (String symbol : symbols) {
+            for (Predicate<String> step : steps) {
+                if (!withinDailyShare(quota)) return fetched;
+                try {
+                    if (step.test(symbol)) fetched++;
+                } catch (QuotaExceededException | UpstreamUnavailableException e) {
+                    log.debug("Prewarm stopped for {}: {}", quota.getName(), e.getMessage());
+                    return fetched;
+                } catch (RuntimeException e) {
+                    log.debug("Prewarm of {} failed: {}", symbol, e.getMessage());
+                }
+            }
+        }
+        return fetched;
+    }
+
+    private boolean withinDailyShare(QuotaGovernor quota) {
+        return quota.getPerDay() == 0 || quota.remainingToday() > quota.getPerDay() * keepDailyShare;
+    }
+}
@@ -0,0 +1,103 @@
+package com.MarketBriefApp.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.MarketBriefApp.cache.SingleFlight;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.dto.CandleDto;
+import com.MarketBriefApp.service.external.YahooChartService;
+import com.MarketBriefApp.timeseries.CandleStore;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// serves price history from the local candle store and only asks yahoo for the
+// bars that are missing since the last stored one
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+    // interval -> longest range yahoo serves for it, and how long that range is
+    private static final Map<String, String> MAX_RANGE = Map.of(
+            "1m", "7d", "5m", "60d", "15m", "60d", "1h", "2y", "1d", "10y", "1wk", "max");
+    private static final Map<String, Duration> MAX_SPAN = Map.of(
+            "1m", Duration.ofDays(7), "5m", Duration.ofDays(60), "15m", Duration.ofDays(60),
+            "1h", Duration.ofDays(730), "1d", Duration.ofDays(3653), "1wk", Duration.ofDays(36500));
+
+    private static final Map<String, Duration> STEP = Map.of(
+            "1m", Duration.ofMinutes(1), "5m", Duration.ofMinutes(5), "15m", Duration.ofMinutes(15),
+            "1h", Duration.ofHours(1), "1d", Duration.ofDays(1), "1wk", Duration.ofDays(7));
+
+    private static final List<String> RANGES = List.of("1d", "5d", "1mo", "3mo", "6mo", "1y", "2y", "5y", "10y");
+    private static final List<Duration> RANGE_SPANS = List.of(Duration.ofDays(1), Duration.ofDays(5),
+            Duration.ofDays(31), Duration.ofDays(92), Duration.ofDays(183), Duration.ofDays(366),
+            Duration.ofDays(731), Duration.ofDays(1827), Duration.ofDays(3653));
+
+    @Value("${app.timeseries.max-points}")
+    private int maxPoints;
+
+    private final CandleStore candleStore;
+    private final YahooChartService chartService;
+    private final SingleFlightRegistry singleFlights;
+
+    private final ConcurrentMap<String, Instant> lastSynced = new ConcurrentHashMap<>();
+    private SingleFlight<Integer> inFlight;
+
+    @PostConstruct
+    void init() {
+        inFlight = singleFlights.create("yahooHistory");
+    }
+
+    public boolean isSupportedInterval(String interval) {
+        return STEP.containsKey(interval);
+    }
+
+    public List<CandleDto> getHistory(String symbol, String interval, long from, long to) {
+        String formattedSymbol = symbol.trim().toUpperCase();
+        syncIfDue(formattedSymbol, interval);
+        return candleStore.range(formattedSymbol, interval, from, to, maxPoints);
+    }
+
+    // at most one top-up per interval step, stored data is served if yahoo is unavailable.
+    // nothing is created on disk until yahoo has returned bars for the symbol
+    private void syncIfDue(String symbol, String interval) {
+        String key = symbol + ":" + interval;
+        Instant now = Instant.now();
+        Instant synced = lastSynced.get(key);
+        if (synced != null && synced.plus(STEP.get(interval)).isAfter(now)) return;
+
+        try {
+            inFlight.execute(key, () -> {
+                long last = candleStore.lastTimestamp(symbol, interval);
+                String range = last == Long.MIN_VALUE
+                        ? MAX_RANGE.get(interval)
+                        : rangeCovering(Duration.between(Instant.ofEpochSecond(last), now), interval);
+                int appended = candleStore.append(symbol, interval, chartService.getCandles(symbol, interval, range));
+                lastSynced.put(key, now);
+                return appended;
+            });
+        } catch (Exception e) {
+            log.warn("History sync for {} {} failed, serving stored candles: {}", symbol, interval, e.getMessage());
+        }
+    }
+
+    // smallest yahoo range that covers the gap, capped at what the interval allows
+    private String rangeCovering(Duration gap, String interval) {
+        for (int i = 0; i < RANGES.size(); i++) {
+            if (RANGE_SPANS.get(i).compareTo(gap) >= 0) {
+                return RANGE_SPANS.get(i).compareTo(MAX_SPAN.get(interval)) <= 0 ? RANGES.get(i) : MAX_RANGE.get(interval);
+            }
+        }
+        return MAX_RANGE.get(interval);
+    }
+}
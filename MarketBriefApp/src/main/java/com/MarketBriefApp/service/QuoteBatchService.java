@@ -0,0 +1,167 @@
+package com.MarketBriefApp.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.MarketBriefApp.cache.Snapshot;
+import com.MarketBriefApp.dto.BulkQuoteResponseDto;
+import com.MarketBriefApp.dto.QuoteDto;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.service.external.StockExternalService;
+import com.MarketBriefApp.service.external.model.StockQuote;
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// quotes for a whole watchlist in one pass. cached symbols are answered from memory,
+// the rest are fetched at background priority a few at a time across all bulk requests,
+// and whatever has not arrived when the deadline passes is reported as missing.
+// alpha vantage only offers a batch quote endpoint on premium plans, so misses are
+// fetched one symbol per call, and background priority keeps one long watchlist from
+// spending the budget single-quote lookups rely on. a quote that failed or was throttled
+// falls back to its last-known-good snapshot, which carries asOf so the client can show its age
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuoteBatchService {
+
+    @Value("${app.stock.bulk.deadline-ms}")
+    private long deadlineMs;
+
+    @Value("${app.stock.bulk.max-concurrency}")
+    private int maxConcurrency;
+
+    private final StockExternalService stockService;
+    private final ExecutorService upstreamExecutor;
+    private final UpstreamMetrics upstreamMetrics;
+    private final SymbolIndex symbolIndex;
+
+    // shared by every bulk request, so concurrent watchlists queue behind each other
+    private Semaphore permits;
+
+    @PostConstruct
+    void initPermits() {
+        permits = new Semaphore(maxConcurrency);
+    }
+
+    public BulkQuoteResponseDto getQuotes(List<String> symbols) {
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String symbol : symbols) {
+            if (symbol != null && !symbol.isBlank()) {
+                requested.add(symbol.trim().toUpperCase());
+            }
+        }
+
+        Map<String, StockQuote> quotes = new LinkedHashMap<>();
+        Map<String, CompletableFuture<StockQuote>> calls = new LinkedHashMap<>();
+        for (String symbol : requested) {
+            // unlisted symbols never reach the upstream and end up in missing
+            if (!symbolIndex.accepts(symbol)) continue;
+            StockQuote cached = stockService.getCachedQuote(symbol);
+            if (cached != null) {
+                quotes.put(symbol, cached);
+            } else {
+                calls.put(symbol, CompletableFuture.supplyAsync(() -> fetch(symbol, deadlineNanos), upstreamExecutor));
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<StockQuote>> call : calls.entrySet()) {
+            StockQuote quote = await(call.getKey(), call.getValue(), deadlineNanos);
+            if (quote != null) {
+                quotes.put(call.getKey(), quote);
+            }
+        }
+
+        List<QuoteDto> found = new ArrayList<>(requested.size());
+        List<String> missing = new ArrayList<>();
+        for (String symbol : requested) {
+            StockQuote quote = quotes.get(symbol);
+            Snapshot<StockQuote> stale = symbolIndex.accepts(symbol) ? stockService.getStaleQuote(symbol, quote) : null;
+            if (stale != null) {
+                quote = stale.value();
+            }
+            if (quote != null && quote.isFound() && !quote.isThrottled()) {
+                QuoteDto dto = toDto(symbol, quote);
+                if (stale != null) dto.setAsOf(stale.asOf());
+                found.add(dto);
+            } else {
+                missing.add(symbol);
+            }
+        }
+
+        return BulkQuoteResponseDto.builder()
+                .quotes(found)
+                .missing(missing)
+                .partial(!missing.isEmpty())
+                .build();
+    }
+
+    // waits for a permit no longer than the deadline, a symbol still queued when it passes is skipped
+    private StockQuote fetch(String symbol, long deadlineNanos) {
+        try {
+            if (!permits.tryAcquire(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw new CancellationException("Deadline passed before " + symbol + " was fetched");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted before " + symbol + " was fetched");
+        }
+        try {
+            return stockService.getStockQuoteInBackground(symbol);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private StockQuote await(String symbol, CompletableFuture<StockQuote> call, long deadlineNanos) {
+        try {
+            return call.get(Math.max(deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // the call keeps running and fills the cache for the next request
+            upstreamMetrics.deadlineMissed("alphaVantage", "GLOBAL_QUOTE");
+            return null;
+        } catch (ExecutionException e) {
+            log.debug("Quote for {} failed: {}", symbol, e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private QuoteDto toDto(String symbol, StockQuote quote) {
+        return QuoteDto.builder()
+                .symbol(symbol)
+                .price(boxed(quote.price()))
+                .change(boxed(quote.change()))
+                .changePercent(boxed(quote.changePercent()))
+                .open(boxed(quote.open()))
+                .high(boxed(quote.high()))
+                .low(boxed(quote.low()))
+                .previousClose(boxed(quote.previousClose()))
+                .volume(quote.volume())
+                .build();
+    }
+
+    private Double boxed(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
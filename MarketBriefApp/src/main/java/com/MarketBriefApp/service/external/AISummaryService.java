@@ -1,15 +1,41 @@
 package com.MarketBriefApp.service.external;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
+import com.MarketBriefApp.cache.SingleFlight;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.cache.UpstreamCacheFactory;
+import com.MarketBriefApp.exception.QuotaExceededException;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.quota.Priority;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.service.external.model.ChatCompletion;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.ObjectMapper;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AISummaryService {
@@ -17,77 +43,159 @@ public class AISummaryService {
     @Value("${app.api.groq-key}")
     private String apiKey;
 
-    private final RestClient restClient = RestClient.create();
+    @Value("${app.api.groq-url}")
+    private String groqUrl;
+
+    @Value("${app.cache.summary.expire-after}")
+    private Duration summaryExpireAfter;
+
+    @Value("${app.cache.summary.max-size}")
+    private long summaryMaxSize;
+
+    private final QuotaGovernor groqQuota;
+    private final UpstreamCacheFactory cacheFactory;
+    private final ObjectMapper objectMapper;
+    private final UpstreamClient groqClient;
+    private final SummaryPromptBuilder promptBuilder;
+    private final SingleFlightRegistry singleFlights;
+
+    private Cache<String, String> summaryCache;
+    private SingleFlight<String> inFlight;
+
+    @PostConstruct
+    void initCache() {
+        summaryCache = cacheFactory.create("newsSummary", summaryExpireAfter, summaryMaxSize);
+        inFlight = singleFlights.create("groqSummary");
+    }
 
+    // the same article set for a symbol gets the same summary whoever asks for it,
+    // concurrent requests for one key wait on a single completion. the groq call runs
+    // outside the cache's compute so a slow completion never blocks other keys
     public String summarizeNews(String symbol,List<String> newsArticles) {
-        String prompt = "Act as an experienced equity research analyst for the stock market.\n"
-        		+ "\n"
-        		+ "\n"
-        		+ "Instructions:\n"
-        		+ "\n"
-        		+ "* Do NOT summarize each article.\n"
-        		+ "* Combine information from all sources and filter the news only for "+symbol+".\n"
-        		+ "* Output only key points an investor must know.\n"
-        		+ "and Identify hidden implications that retail investors may miss.\n"
-        		+ "\n"
-        		+ "* Limit output to 8–12 concise bullet points.\n"
-        		+ "* Focus on business impact, financial implications, risks, and growth signals.\n"
-        		+ "* Ignore promotional or repetitive information.\n"
-        		+ "* Prioritize recent developments and importantly .\n"
-        		+ "do the sentiment analyze and classify positive,neutral,negative impact of the point"
-        		+ "then in each point starting add 🟢 icon if positive, 🔴 icon if negative ,🟡 icon if neutral"
-        		+ "Each point should clearly explain WHY it matters for investors. \n"
-        		+ "Output format:\n"
-        		+ "• Insight → Investor implication\n"
-        		+ "\n"
-        		+ "Now analyze the following inputs:\n\n"
-                + String.join("\n\n", newsArticles);
-
-        Map<String, Object> requestBody = Map.of(
-                "model", "llama-3.3-70b-versatile",
-                "messages", List.of(
-                        Map.of("role", "system", "content", "You are a financial analyst assistant."),
-                        Map.of("role", "user", "content", prompt)),
-                "max_tokens", 300,
-                "temperature", 0.7);
-        
-        System.out.println("1: request Body: \n"+requestBody);
+        String key = summaryKey(symbol, newsArticles);
         try {
-        	@SuppressWarnings("unchecked")
-            Map<String, Object> response = restClient.post()
-                    .uri("https://api.groq.com/openai/v1/chat/completions")
-                    .header("Authorization", "Bearer " + apiKey)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(requestBody)
-                    .retrieve()
-                    .body(Map.class);
-        	
-        	System.out.println("2: response Body: \n"+response);
-        	
-            if (response != null && response.containsKey("choices")) {
-                @SuppressWarnings("unchecked")
-				List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
-                
-                System.out.println("3: choices: \n"+choices);
-                if (!choices.isEmpty()) {
-                    @SuppressWarnings("unchecked")
-					Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-                    
-//                    System.out.println("4: message: \n"+message);
-                    
-//                    System.out.println("5: "+(String) message.get("content"));
-                    
-                    return (String) message.get("content");
-                }
+            String summary = summaryCache.getIfPresent(key);
+            if (summary == null) {
+                summary = inFlight.execute(key, () -> {
+                    String fresh = requestSummary(symbol, newsArticles);
+                    if (fresh != null && !fresh.isBlank()) {
+                        summaryCache.put(key, fresh);
+                    }
+                    return fresh;
+                });
             }
-
-            return "Unable to generate summary";
+            return summary != null ? summary : "Unable to generate summary";
+        } catch (QuotaExceededException e) {
+            // an exhausted budget reaches the client as a 429
+            throw e;
         } catch (Exception e) {
             // Handle API quota, rate limit, or other errors
-            String errorLog = "AI Summary API Error: " + e.getMessage();
-            System.err.println(errorLog);
-            e.printStackTrace();
+            log.warn("AI summary for {} failed", symbol, e);
             return "Unable to generate summary at the moment. Please try again later.";
         }
     }
+
+    // symbol plus a digest of the articles after trimming, lower-casing, collapsing
+    // whitespace and sorting, so reordered or re-spaced inputs share an entry
+    static String summaryKey(String symbol, List<String> newsArticles) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        newsArticles.stream()
+                .filter(Objects::nonNull)
+                .map(article -> article.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " "))
+                .filter(article -> !article.isEmpty())
+                .distinct()
+                .sorted()
+                .forEach(article -> {
+                    digest.update(article.getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                });
+        return symbol.trim().toUpperCase() + ":" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    // relays completion tokens as they arrive, the assembled text is returned and cached
+    public String streamSummary(String symbol, List<String> newsArticles, Consumer<String> onToken) {
+        String key = summaryKey(symbol, newsArticles);
+        String cached = summaryCache.getIfPresent(key);
+        if (cached != null) {
+            onToken.accept(cached);
+            return cached;
+        }
+
+        Map<String, Object> requestBody = new LinkedHashMap<>(buildRequestBody(symbol, newsArticles));
+        requestBody.put("stream", true);
+
+        String summary = groqClient.call("chat.stream", groqQuota, Priority.INTERACTIVE, restClient -> restClient.post()
+                .uri(groqUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .body(requestBody)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new IllegalStateException("Groq streaming request failed with " + response.getStatusCode());
+                    }
+                    return readCompletionStream(response.getBody(), onToken);
+                }));
+
+        if (summary != null && !summary.isBlank()) {
+            summaryCache.put(key, summary);
+        }
+        return summary;
+    }
+
+    // openai-style stream: "data: {chunk}" lines ending with "data: [DONE]"
+    private String readCompletionStream(InputStream body, Consumer<String> onToken) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.startsWith("data:")) continue;
+
+                String data = line.substring(5).trim();
+                if ("[DONE]".equals(data)) break;
+
+                String content = objectMapper.readValue(data, ChatCompletion.class).deltaContent();
+                if (content != null && !content.isEmpty()) {
+                    summary.append(content);
+                    onToken.accept(content);
+                }
+            }
+        }
+        return summary.toString();
+    }
+
+    private String requestSummary(String symbol, List<String> newsArticles) {
+        Map<String, Object> requestBody = buildRequestBody(symbol, newsArticles);
+
+        log.debug("Requesting summary for {} from {} articles", symbol, newsArticles.size());
+
+        ChatCompletion response = groqClient.call("chat", groqQuota, Priority.INTERACTIVE, restClient -> restClient.post()
+                .uri(groqUrl)
+                .header("Authorization", "Bearer " + apiKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(requestBody)
+                .retrieve()
+                .body(ChatCompletion.class));
+
+        // nothing is cached for an empty completion
+        return response != null ? response.messageContent() : null;
+    }
+
+    // the prompt stays within the input-token budget however many articles the client sends
+    private Map<String, Object> buildRequestBody(String symbol, List<String> newsArticles) {
+        String prompt = promptBuilder.build(symbol, newsArticles);
+
+        return Map.of(
+                "model", "llama-3.3-70b-versatile",
+                "messages", List.of(
+                        Map.of("role", "system", "content", "You are a financial analyst assistant."),
+                        Map.of("role", "user", "content", prompt)),
+                "max_tokens", 300,
+                "temperature", 0.7);
+    }
 }
@@ -0,0 +1,129 @@
+package com.MarketBriefApp.service.external;
+
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+// pulls the fields we show straight off the token stream. alpha vantage objects are
+// flat string maps with awkward keys ("05. price", "52WeekHigh"), every other value
+// is skipped without its text ever being materialized
+final class AlphaVantageDecoder {
+
+    private AlphaVantageDecoder() {
+    }
+
+    static StockOverview decodeOverview(JsonParser parser, boolean includeDescription) {
+        StockOverview.StockOverviewBuilder overview = StockOverview.builder();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return StockOverview.EMPTY;
+        }
+
+        String field;
+        while ((field = parser.nextName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "Symbol" -> overview.symbol(text(parser));
+                case "Name" -> overview.name(text(parser));
+                case "Description" -> {
+                    if (includeDescription) {
+                        overview.description(text(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "Sector" -> overview.sector(text(parser));
+                case "Industry" -> overview.industry(text(parser));
+                case "Currency" -> overview.currency(text(parser));
+                case "Exchange" -> overview.exchange(text(parser));
+                case "Country" -> overview.country(text(parser));
+                case "52WeekHigh" -> overview.week52High(number(parser));
+                case "52WeekLow" -> overview.week52Low(number(parser));
+                case "50DayMovingAverage" -> overview.movingAverage50Day(number(parser));
+                case "200DayMovingAverage" -> overview.movingAverage200Day(number(parser));
+                case "MarketCapitalization" -> overview.marketCapitalization(number(parser));
+                case "PERatio" -> overview.peRatio(number(parser));
+                case "PriceToBookRatio" -> overview.priceToBookRatio(number(parser));
+                case "ReturnOnEquityTTM" -> overview.returnOnEquity(number(parser));
+                case "EPS" -> overview.eps(number(parser));
+                case "DividendYield" -> overview.dividendYield(number(parser));
+                case "BookValue" -> overview.bookValue(number(parser));
+                case "AnalystTargetPrice" -> overview.analystTargetPrice(number(parser));
+                case "Note", "Information" -> overview.note(text(parser));
+                case "Error Message" -> overview.errorMessage(text(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return overview.build();
+    }
+
+    static StockQuote decodeQuote(JsonParser parser) {
+        StockQuote.StockQuoteBuilder quote = StockQuote.builder();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return StockQuote.EMPTY;
+        }
+
+        String field;
+        while ((field = parser.nextName()) != null) {
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "Global Quote" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        decodeGlobalQuote(parser, quote);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                case "Note", "Information" -> quote.note(text(parser));
+                case "Error Message" -> quote.errorMessage(text(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return quote.build();
+    }
+
+    private static void decodeGlobalQuote(JsonParser parser, StockQuote.StockQuoteBuilder quote) {
+        String field;
+        while ((field = parser.nextName()) != null) {
+            parser.nextToken();
+            switch (field) {
+                case "01. symbol" -> quote.symbol(text(parser));
+                case "02. open" -> quote.open(number(parser));
+                case "03. high" -> quote.high(number(parser));
+                case "04. low" -> quote.low(number(parser));
+                case "05. price" -> quote.price(number(parser));
+                case "06. volume" -> quote.volume((long) number(parser));
+                case "08. previous close" -> quote.previousClose(number(parser));
+                case "09. change" -> quote.change(number(parser));
+                case "10. change percent" -> quote.changePercent(number(parser));
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    // "1.25%" and "None" style values: a trailing percent sign is dropped, anything
+    // that is not a number comes back as NaN
+    private static double number(JsonParser parser) {
+        String value = text(parser);
+        if (value == null || value.isEmpty()) return Double.NaN;
+        int end = value.charAt(value.length() - 1) == '%' ? value.length() - 1 : value.length();
+        char first = value.charAt(0);
+        if (!(first >= '0' && first <= '9') && first != '-' && first != '.') return Double.NaN;
+        try {
+            return Double.parseDouble(end == value.length() ? value : value.substring(0, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String text(JsonParser parser) {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+}
@@ -1,11 +1,26 @@
 package com.MarketBriefApp.service.external;
 
-import java.util.Map;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
 
+import com.MarketBriefApp.cache.RefreshingCache;
+import com.MarketBriefApp.cache.Snapshot;
+import com.MarketBriefApp.cache.SingleFlight;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.cache.UpstreamCacheFactory;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.quota.Priority;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.service.external.model.NewsApiResponse;
+
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -15,16 +30,124 @@ public class NewsExternalService {
     @Value("${app.api.news-key}")
     private String apiKey;
 
-    private final RestClient restClient = RestClient.create();
+    @Value("${app.cache.news.refresh-after}")
+    private Duration newsRefreshAfter;
+
+    @Value("${app.cache.news.expire-after}")
+    private Duration newsExpireAfter;
+
+    @Value("${app.cache.news.max-size}")
+    private long newsMaxSize;
+
+    @Value("${app.news.page-size}")
+    private int pageSize;
+
+    @Value("${app.news.window-size}")
+    private int windowSize;
+
+    @Value("${app.news.duplicate-similarity}")
+    private double duplicateSimilarity;
+
+    private final UpstreamCacheFactory cacheFactory;
+    private final SingleFlightRegistry singleFlights;
+    private final QuotaGovernor newsApiQuota;
+    private final UpstreamClient newsApiClient;
+
+    private RefreshingCache<NewsApiResponse> newsCache;
+    private SingleFlight<NewsApiResponse> inFlight;
+
+    @PostConstruct
+    void initCache() {
+        inFlight = singleFlights.create("newsApi");
+        newsCache = cacheFactory.create("stockNews", newsRefreshAfter, newsExpireAfter, newsMaxSize,
+                this::fetchStockNews, NewsApiResponse::isOk, NewsApiResponse.class);
+    }
+
+	public NewsApiResponse getStockNews(String symbol) {
+        return newsCache.get(symbol.trim().toUpperCase());
+    }
+
+    // see RefreshingCache.prewarm
+    public boolean prewarmNews(String symbol, Duration lead) {
+        return newsCache.prewarm(symbol.trim().toUpperCase(), lead);
+    }
+
+    // see RefreshingCache.staleSnapshot
+    public Snapshot<NewsApiResponse> getStaleNews(String symbol, NewsApiResponse live) {
+        return newsCache.staleSnapshot(symbol.trim().toUpperCase(), live);
+    }
+
+    // a refresh only asks for articles published after the newest one already cached and
+    // merges them into that window, so repeat fetches transfer a handful of new articles
+    // instead of the same page again. the first load of a symbol fetches a full page.
+    // decoded into typed records, article fields we never show are skipped by the parser
+    private NewsApiResponse fetchStockNews(String symbol, Priority priority) {
+        NewsApiResponse previous = newsCache != null ? newsCache.getIfPresent(symbol) : null;
+        String watermark = previous != null ? newestPublishedAt(previous.articles()) : null;
 
-    @SuppressWarnings("unchecked")
-	public Map<String, Object> getStockNews(String symbol) {
         String query = symbol + " stock";
         String url = "https://newsapi.org/v2/everything?q=" + query +
-                "&sortBy=publishedAt&language=en&pageSize=10&apiKey=" + apiKey;
-        return restClient.get()
-                .uri(url)
-                .retrieve()
-                .body(Map.class);
+                "&sortBy=publishedAt&language=en&pageSize=" + pageSize +
+                (watermark != null ? "&from=" + watermark : "") + "&apiKey=" + apiKey;
+        NewsApiResponse fetched = inFlight.execute(symbol, () -> newsApiClient.call("everything", newsApiQuota,
+                priority, restClient -> restClient.get()
+                        .uri(url)
+                        .retrieve()
+                        .body(NewsApiResponse.class)));
+
+        if (fetched == null || !fetched.isOk()) {
+            return fetched;
+        }
+        List<NewsApiResponse.Article> articles = new ArrayList<>();
+        if (fetched.articles() != null) articles.addAll(fetched.articles());
+        if (watermark != null) articles.addAll(previous.articles());
+        return new NewsApiResponse(fetched.status(), fetched.message(), window(articles));
+    }
+
+    // newest first, at most windowSize articles. an article repeated by url or worded
+    // almost like an earlier one (syndicated copies, reworded headlines) is dropped and
+    // the earliest version is kept
+    private List<NewsApiResponse.Article> window(List<NewsApiResponse.Article> articles) {
+        articles.sort(Comparator.comparing(NewsApiResponse.Article::publishedAt,
+                Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        List<NewsApiResponse.Article> kept = new ArrayList<>();
+        List<long[]> keptSignatures = new ArrayList<>();
+        Set<String> urls = new HashSet<>();
+        for (NewsApiResponse.Article article : articles) {
+            if (article.url() != null && !urls.add(article.url())) continue;
+
+            long[] signature = MinHash.signature(nullToEmpty(article.title()) + ' ' + nullToEmpty(article.description()));
+            boolean duplicate = false;
+            for (long[] keptSignature : keptSignatures) {
+                if (MinHash.similarity(signature, keptSignature) >= duplicateSimilarity) {
+                    duplicate = true;
+                    break;
+                }
+            }
+            if (!duplicate) {
+                kept.add(article);
+                keptSignatures.add(signature);
+            }
+        }
+
+        List<NewsApiResponse.Article> newestFirst = kept.reversed();
+        return List.copyOf(newestFirst.subList(0, Math.min(windowSize, newestFirst.size())));
+    }
+
+    private String newestPublishedAt(List<NewsApiResponse.Article> articles) {
+        if (articles == null) return null;
+        String newest = null;
+        for (NewsApiResponse.Article article : articles) {
+            // NewsAPI timestamps are ISO-8601 UTC, so they order as strings
+            if (article.publishedAt() != null && (newest == null || article.publishedAt().compareTo(newest) > 0)) {
+                newest = article.publishedAt();
+            }
+        }
+        return newest;
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
     }
 }
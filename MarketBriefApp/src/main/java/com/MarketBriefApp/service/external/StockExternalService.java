@@ -1,10 +1,32 @@
 package com.MarketBriefApp.service.external;
 
-import java.util.Map;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
+
+import com.MarketBriefApp.cache.RefreshingCache;
+import com.MarketBriefApp.cache.Snapshot;
+import com.MarketBriefApp.cache.SingleFlight;
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.cache.UpstreamCacheFactory;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.market.Market;
+import com.MarketBriefApp.market.MarketCalendar;
+import com.MarketBriefApp.quota.Priority;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.service.external.model.QuoteUpdatedEvent;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.ObjectMapper;
 
 @Service
 @RequiredArgsConstructor
@@ -13,30 +35,132 @@ public class StockExternalService {
     @Value("${app.api.stock-key}")
     private String apiKey;
 
-    private final RestClient restClient = RestClient.create();
+    @Value("${app.stock.include-description}")
+    private boolean includeDescription;
 
-    @SuppressWarnings("unchecked")
-	public Map<String, Object> getStockOverview(String symbol) {
-        String formattedSymbol = formatSymbol(symbol);
-        String url = "https://www.alphavantage.co/query?function=OVERVIEW&symbol=" + formattedSymbol + "&apikey=" + apiKey;
+    @Value("${app.cache.overview.refresh-after}")
+    private Duration overviewRefreshAfter;
+
+    @Value("${app.cache.overview.expire-after}")
+    private Duration overviewExpireAfter;
+
+    @Value("${app.cache.overview.max-size}")
+    private long overviewMaxSize;
+
+    @Value("${app.cache.quote.refresh-after}")
+    private Duration quoteRefreshAfter;
+
+    @Value("${app.cache.quote.expire-after}")
+    private Duration quoteExpireAfter;
+
+    @Value("${app.cache.quote.max-size}")
+    private long quoteMaxSize;
 
-        return restClient.get()
-                .uri(url)
-                .retrieve()
-                .body(Map.class);
+    private final UpstreamCacheFactory cacheFactory;
+    private final SingleFlightRegistry singleFlights;
+    private final QuotaGovernor alphaVantageQuota;
+    private final ObjectMapper objectMapper;
+    private final UpstreamClient alphaVantageClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MarketCalendar marketCalendar;
+
+    private RefreshingCache<StockOverview> overviewCache;
+    private RefreshingCache<StockQuote> quoteCache;
+    private SingleFlight<Object> inFlight;
+
+    @PostConstruct
+    void initCaches() {
+        inFlight = singleFlights.create("alphaVantage");
+        overviewCache = cacheFactory.create("stockOverview", overviewRefreshAfter, overviewExpireAfter,
+                overviewMaxSize, this::fetchStockOverview, overview -> !overview.isThrottled(), StockOverview.class);
+        quoteCache = cacheFactory.create("stockQuote", quoteRefreshAfter, quoteExpireAfter,
+                quoteMaxSize, this::fetchStockQuote, quote -> !quote.isThrottled(), StockQuote.class, this::quoteMayHaveChanged);
     }
 
-    @SuppressWarnings("unchecked")
-	public Map<String, Object> getStockQuote(String symbol) {
-        String formattedSymbol = formatSymbol(symbol);
-        String url = "https://www.alphavantage.co/query?function=GLOBAL_QUOTE&symbol=" + formattedSymbol + "&apikey=" + apiKey;
+	public StockOverview getStockOverview(String symbol) {
+        return overviewCache.get(formatSymbol(symbol));
+    }
+
+	public StockQuote getStockQuote(String symbol) {
+        return quoteCache.get(formatSymbol(symbol));
+    }
+
+    // a quote fetched after the last close of its market stays current until the next
+    // open, so nights, weekends and holidays cost no Alpha Vantage calls for it
+    private boolean quoteMayHaveChanged(String formattedSymbol, long fetchedAt) {
+        return marketCalendar.mayHaveChanged(marketOf(formattedSymbol), fetchedAt, Instant.now());
+    }
+
+    // the exchange and currency of a cached overview when there is one, the symbol otherwise
+    public Market marketOf(String symbol) {
+        StockOverview overview = overviewCache.getIfPresent(formatSymbol(symbol));
+        Market market = overview != null ? marketCalendar.marketOf(overview.exchange(), overview.currency()) : null;
+        return market != null ? market : marketCalendar.marketOf(symbol);
+    }
+
+    // see RefreshingCache.prewarm
+    public boolean prewarmOverview(String symbol, Duration lead) {
+        return overviewCache.prewarm(formatSymbol(symbol), lead);
+    }
+
+    public boolean prewarmQuote(String symbol, Duration lead) {
+        return quoteCache.prewarm(formatSymbol(symbol), lead);
+    }
+
+    // see RefreshingCache.staleSnapshot
+    public Snapshot<StockOverview> getStaleOverview(String symbol, StockOverview live) {
+        return overviewCache.staleSnapshot(formatSymbol(symbol), live);
+    }
+
+    public Snapshot<StockQuote> getStaleQuote(String symbol, StockQuote live) {
+        return quoteCache.staleSnapshot(formatSymbol(symbol), live);
+    }
 
-        return restClient.get()
-                .uri(url)
-                .retrieve()
-                .body(Map.class);
+    // a miss fetched at background priority, so it cannot take the interactive reserve
+    public StockQuote getStockQuoteInBackground(String symbol) {
+        return quoteCache.loadInBackground(formatSymbol(symbol));
     }
 
+    // memory only, null when the quote is not cached
+    public StockQuote getCachedQuote(String symbol) {
+        return quoteCache.getIfPresent(formatSymbol(symbol));
+    }
+
+    private StockOverview fetchStockOverview(String formattedSymbol, Priority priority) {
+        return fetch("OVERVIEW", formattedSymbol, priority,
+                parser -> AlphaVantageDecoder.decodeOverview(parser, includeDescription), StockOverview::isThrottled);
+    }
+
+    // every fresh quote, first load or background refresh, is published for the alert engine
+    private StockQuote fetchStockQuote(String formattedSymbol, Priority priority) {
+        StockQuote quote = fetch("GLOBAL_QUOTE", formattedSymbol, priority, AlphaVantageDecoder::decodeQuote,
+                StockQuote::isThrottled);
+        if (quote != null && quote.isFound() && !quote.isThrottled()) {
+            eventPublisher.publishEvent(new QuoteUpdatedEvent(formattedSymbol, quote));
+        }
+        return quote;
+    }
+
+    // concurrent misses for the same function and symbol share one call,
+    // and only the call that actually goes out spends a quota token.
+    // the body is decoded straight from the response stream
+    @SuppressWarnings("unchecked")
+    private <T> T fetch(String function, String formattedSymbol, Priority priority, Function<JsonParser, T> decoder,
+            Predicate<T> throttled) {
+        String url = "https://www.alphavantage.co/query?function=" + function + "&symbol=" + formattedSymbol + "&apikey=" + apiKey;
+
+        return (T) inFlight.execute(function + ":" + formattedSymbol, () -> alphaVantageClient.call(function,
+                alphaVantageQuota, priority, restClient -> restClient.get()
+                        .uri(url)
+                        .exchange((request, response) -> {
+                            if (response.getStatusCode().isError()) {
+                                throw new IllegalStateException("Alpha Vantage " + function + " failed with " + response.getStatusCode());
+                            }
+                            try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                                return decoder.apply(parser);
+                            }
+                        }), throttled));
+    }
 
     private String formatSymbol(String symbol) {
         if (symbol == null) return "";
@@ -0,0 +1,168 @@
+package com.MarketBriefApp.service.external;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// builds the summary prompt within a fixed input-token budget. articles arrive newest
+// first from the news panel; each one is scored by that position and by whether it
+// mentions the symbol or company, the best ones are taken until the budget is spent,
+// long ones are cut to max-article-tokens, and the chosen articles keep their original
+// order in the prompt. token counts are estimated locally, see estimateTokens
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SummaryPromptBuilder {
+
+    // a cut article shorter than this carries too little to be worth sending
+    private static final int MIN_ARTICLE_TOKENS = 24;
+
+    private static final String INSTRUCTIONS = "Act as an experienced equity research analyst for the stock market.\n"
+            + "\n"
+            + "\n"
+            + "Instructions:\n"
+            + "\n"
+            + "* Do NOT summarize each article.\n"
+            + "* Combine information from all sources and filter the news only for %s.\n"
+            + "* Output only key points an investor must know.\n"
+            + "and Identify hidden implications that retail investors may miss.\n"
+            + "\n"
+            + "* Limit output to 8–12 concise bullet points.\n"
+            + "* Focus on business impact, financial implications, risks, and growth signals.\n"
+            + "* Ignore promotional or repetitive information.\n"
+            + "* Prioritize recent developments and importantly .\n"
+            + "do the sentiment analyze and classify positive,neutral,negative impact of the point"
+            + "then in each point starting add 🟢 icon if positive, 🔴 icon if negative ,🟡 icon if neutral"
+            + "Each point should clearly explain WHY it matters for investors. \n"
+            + "Output format:\n"
+            + "• Insight → Investor implication\n"
+            + "\n"
+            + "Now analyze the following inputs:\n\n";
+
+    @Value("${app.summary.input-token-budget}")
+    private int inputTokenBudget;
+
+    @Value("${app.summary.max-article-tokens}")
+    private int maxArticleTokens;
+
+    private final SymbolIndex symbolIndex;
+
+    public String build(String symbol, List<String> newsArticles) {
+        String instructions = INSTRUCTIONS.formatted(symbol);
+        int budget = inputTokenBudget - estimateTokens(instructions);
+
+        List<String> articles = newsArticles.stream()
+                .filter(Objects::nonNull)
+                .map(String::strip)
+                .filter(article -> !article.isEmpty())
+                .distinct()
+                .toList();
+        Set<String> terms = relevanceTerms(symbol);
+
+        List<Integer> ranked = new ArrayList<>();
+        double[] scores = new double[articles.size()];
+        for (int i = 0; i < articles.size(); i++) {
+            // recency falls from 1 to 0 down the list, a mention of the company outweighs it
+            double recency = 1.0 - (double) i / articles.size();
+            scores[i] = recency + (mentions(articles.get(i), terms) ? 1.5 : 0);
+            ranked.add(i);
+        }
+        ranked.sort(Comparator.comparingDouble((Integer i) -> scores[i]).reversed());
+
+        String[] chosen = new String[articles.size()];
+        int used = 0;
+        int included = 0;
+        for (int i : ranked) {
+            int remaining = budget - used;
+            if (remaining < MIN_ARTICLE_TOKENS) break;
+
+            String article = truncate(articles.get(i), Math.min(maxArticleTokens, remaining));
+            int tokens = estimateTokens(article) + 1;
+            if (tokens > remaining) continue;
+            chosen[i] = article;
+            used += tokens;
+            included++;
+        }
+
+        List<String> inOrder = new ArrayList<>(included);
+        for (String article : chosen) {
+            if (article != null) inOrder.add(article);
+        }
+        log.debug("Summary prompt for {} keeps {} of {} articles, ~{} input tokens", symbol, included,
+                articles.size(), inputTokenBudget - budget + used);
+        return instructions + String.join("\n\n", inOrder);
+    }
+
+    // a cheap upper estimate of BPE tokens: a run of ASCII letters or digits costs one token
+    // per four characters, every other visible character (punctuation, emoji, non-latin
+    // scripts) costs one, whitespace rides along with the next token
+    static int estimateTokens(String text) {
+        int tokens = 0;
+        int run = 0;
+        for (int i = 0; i < text.length(); ) {
+            int c = text.codePointAt(i);
+            i += Character.charCount(c);
+            if (c < 128 && Character.isLetterOrDigit(c)) {
+                run++;
+                continue;
+            }
+            tokens += (run + 3) / 4;
+            run = 0;
+            if (!Character.isWhitespace(c)) tokens++;
+        }
+        return tokens + (run + 3) / 4;
+    }
+
+    // cuts at the last word boundary that fits, the estimate is rechecked on the result
+    static String truncate(String article, int maxTokens) {
+        if (estimateTokens(article) <= maxTokens) return article;
+
+        // four characters per token is the estimate's best case, so start there and shrink
+        int end = Math.min(article.length(), maxTokens * 4);
+        while (end > 0) {
+            int space = article.lastIndexOf(' ', end - 1);
+            end = space > 0 ? space : end / 2;
+            String cut = article.substring(0, end) + " …";
+            if (estimateTokens(cut) <= maxTokens) return cut;
+        }
+        return "";
+    }
+
+    // the bare ticker and the first word of the listed company name, lower case
+    private Set<String> relevanceTerms(String symbol) {
+        Set<String> terms = new LinkedHashSet<>();
+        String ticker = symbol.strip().toLowerCase(Locale.ROOT);
+        int dot = ticker.indexOf('.');
+        terms.add(dot > 0 ? ticker.substring(0, dot) : ticker);
+
+        String name = symbolIndex.nameOf(symbol);
+        if (name != null) {
+            for (String word : name.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= 3 && !word.equals("the")) {
+                    terms.add(word);
+                    break;
+                }
+            }
+        }
+        return terms;
+    }
+
+    private boolean mentions(String article, Set<String> terms) {
+        for (String word : article.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (terms.contains(word)) return true;
+        }
+        return false;
+    }
+}
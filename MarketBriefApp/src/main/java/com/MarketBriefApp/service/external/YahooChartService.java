@@ -0,0 +1,65 @@
+package com.MarketBriefApp.service.external;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.MarketBriefApp.dto.CandleDto;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.service.external.model.YahooChart;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class YahooChartService {
+
+    private final UpstreamClient yahooClient;
+
+    public List<CandleDto> getIntradayCandles(String symbol) {
+        return getCandles(symbol, "1m", "1d");
+    }
+
+    public List<CandleDto> getCandles(String symbol, String interval, String range) {
+        YahooChart response = yahooClient.call("chart", restClient -> restClient.get()
+                .uri("https://query1.finance.yahoo.com/v8/finance/chart/{symbol}?interval={interval}&range={range}",
+                        symbol, interval, range)
+                .header("User-Agent", "Mozilla/5.0")
+                .retrieve()
+                .body(YahooChart.class));
+
+        YahooChart.Result result = response != null ? response.firstResult() : null;
+        YahooChart.Quote quote = result != null ? result.firstQuote() : null;
+        if (result == null || result.timestamp() == null || quote == null) {
+            return List.of();
+        }
+
+        List<Long> timestamps = result.timestamp();
+        List<CandleDto> candles = new ArrayList<>(timestamps.size());
+        for (int i = 0; i < timestamps.size(); i++) {
+            Long t = timestamps.get(i);
+            Double open = valueAt(quote.open(), i);
+            Double high = valueAt(quote.high(), i);
+            Double low = valueAt(quote.low(), i);
+            Double close = valueAt(quote.close(), i);
+            // a bar with any price missing is a gap, not a candle
+            if (t == null || open == null || high == null || low == null || close == null) continue;
+            Long volume = valueAt(quote.volume(), i);
+            candles.add(CandleDto.builder()
+                    .t(t)
+                    .o(open)
+                    .h(high)
+                    .l(low)
+                    .c(close)
+                    .v(volume != null ? volume : 0)
+                    .build());
+        }
+        return candles;
+    }
+
+    // null for a missing column or one shorter than the timestamps
+    private static <T> T valueAt(List<T> column, int i) {
+        return column != null && i < column.size() ? column.get(i) : null;
+    }
+}
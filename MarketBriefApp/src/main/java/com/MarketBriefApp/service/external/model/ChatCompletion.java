@@ -0,0 +1,33 @@
+package com.MarketBriefApp.service.external.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// openai-style chat completion. a full response carries choices[].message, a
+// streamed chunk carries choices[].delta, both with the same content field
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ChatCompletion(List<Choice> choices) {
+
+    public String messageContent() {
+        Choice choice = firstChoice();
+        return choice != null && choice.message() != null ? choice.message().content() : null;
+    }
+
+    public String deltaContent() {
+        Choice choice = firstChoice();
+        return choice != null && choice.delta() != null ? choice.delta().content() : null;
+    }
+
+    private Choice firstChoice() {
+        return choices != null && !choices.isEmpty() ? choices.get(0) : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Choice(Message message, Message delta) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Message(String content) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.MarketBriefApp.service.external.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// NewsAPI /v2/everything, only the fields the news panel and summaries use.
+// everything else (content, author, urlToImage, totalResults) is skipped while parsing
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record NewsApiResponse(String status, String message, List<Article> articles) {
+
+    public boolean isOk() {
+        return "ok".equals(status);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Article(String title, String description, String url, Source source, String publishedAt) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Source(String name) {
+    }
+}
@@ -0,0 +1,5 @@
+package com.MarketBriefApp.service.external.model;
+
+// published whenever a usable quote arrives from the upstream, cache hits do not publish
+public record QuoteUpdatedEvent(String symbol, StockQuote quote) {
+}
@@ -0,0 +1,58 @@
+package com.MarketBriefApp.service.external.model;
+
+import lombok.Builder;
+
+// the Alpha Vantage OVERVIEW fields the dashboard shows. numbers are parsed once
+// while decoding and NaN marks a value the upstream did not report ("None", "-").
+// note is set when the call was throttled instead of answered
+@Builder
+public record StockOverview(
+        String symbol,
+        String name,
+        String description,
+        String sector,
+        String industry,
+        String currency,
+        String exchange,
+        String country,
+        double week52High,
+        double week52Low,
+        double movingAverage50Day,
+        double movingAverage200Day,
+        double marketCapitalization,
+        double peRatio,
+        double priceToBookRatio,
+        double returnOnEquity,
+        double eps,
+        double dividendYield,
+        double bookValue,
+        double analystTargetPrice,
+        String note,
+        String errorMessage) {
+
+    public static final StockOverview EMPTY = StockOverview.builder().build();
+
+    public boolean isThrottled() {
+        return note != null;
+    }
+
+    // alpha vantage answers an unknown symbol with an empty object
+    public boolean isFound() {
+        return symbol != null && errorMessage == null;
+    }
+
+    public static class StockOverviewBuilder {
+        private double week52High = Double.NaN;
+        private double week52Low = Double.NaN;
+        private double movingAverage50Day = Double.NaN;
+        private double movingAverage200Day = Double.NaN;
+        private double marketCapitalization = Double.NaN;
+        private double peRatio = Double.NaN;
+        private double priceToBookRatio = Double.NaN;
+        private double returnOnEquity = Double.NaN;
+        private double eps = Double.NaN;
+        private double dividendYield = Double.NaN;
+        private double bookValue = Double.NaN;
+        private double analystTargetPrice = Double.NaN;
+    }
+}
@@ -0,0 +1,41 @@
+package com.MarketBriefApp.service.external.model;
+
+import lombok.Builder;
+
+// the "Global Quote" block of an Alpha Vantage GLOBAL_QUOTE response, parsed
+// once while decoding. NaN marks a price the upstream did not report
+@Builder
+public record StockQuote(
+        String symbol,
+        double open,
+        double high,
+        double low,
+        double price,
+        long volume,
+        double previousClose,
+        double change,
+        double changePercent,
+        String note,
+        String errorMessage) {
+
+    public static final StockQuote EMPTY = StockQuote.builder().build();
+
+    public boolean isThrottled() {
+        return note != null;
+    }
+
+    // an unknown symbol comes back as an empty "Global Quote" object
+    public boolean isFound() {
+        return !Double.isNaN(price);
+    }
+
+    public static class StockQuoteBuilder {
+        private double open = Double.NaN;
+        private double high = Double.NaN;
+        private double low = Double.NaN;
+        private double price = Double.NaN;
+        private double previousClose = Double.NaN;
+        private double change = Double.NaN;
+        private double changePercent = Double.NaN;
+    }
+}
@@ -0,0 +1,37 @@
+package com.MarketBriefApp.service.external.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// the parts of yahoo's v8 chart response we read: chart.result[0] holds the bar
+// timestamps and indicators.quote[0] the OHLCV columns, index-aligned with them
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record YahooChart(Chart chart) {
+
+    public Result firstResult() {
+        return chart != null && chart.result() != null && !chart.result().isEmpty() ? chart.result().get(0) : null;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Chart(List<Result> result) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Result(List<Long> timestamp, Indicators indicators) {
+
+        public Quote firstQuote() {
+            return indicators != null && indicators.quote() != null && !indicators.quote().isEmpty()
+                    ? indicators.quote().get(0) : null;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Indicators(List<Quote> quote) {
+    }
+
+    // yahoo leaves gaps as nulls for minutes without trades
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Quote(List<Double> open, List<Double> high, List<Double> low, List<Double> close, List<Long> volume) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.MarketBriefApp.symbols;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.dto.SymbolMatchDto;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+// every listed ticker in sorted arrays, loaded once from a listings CSV in the column
+// layout of Alpha Vantage's LISTING_STATUS export (symbol,name,exchange,...), so a fresh
+// download can replace the bundled file as it is. a prefix is a contiguous range of a
+// sorted array, so lookups are a binary search plus the k rows returned, and the whole
+// index is a few arrays instead of a node per character.
+// symbols are matched first, then words of the company name
+@Slf4j
+@Component
+public class SymbolIndex {
+
+    @Value("${app.symbols.listings}")
+    private Resource listings;
+
+    @Value("${app.symbols.reject-unknown}")
+    private boolean rejectUnknown;
+
+    // rows ordered by symbol, so a symbol's row number is its position in symbols
+    private String[] symbols = new String[0];
+    private String[] names = new String[0];
+    private String[] exchanges = new String[0];
+
+    // one entry per word of every company name, sorted, with the row it came from
+    private String[] nameWords = new String[0];
+    private int[] nameWordRows = new int[0];
+
+    @PostConstruct
+    void load() throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(listings.getInputStream(), StandardCharsets.UTF_8))) {
+            List<String> header = parseLine(reader.readLine());
+            int symbolColumn = header.indexOf("symbol");
+            int nameColumn = header.indexOf("name");
+            int exchangeColumn = header.indexOf("exchange");
+            int statusColumn = header.indexOf("status");
+            if (symbolColumn < 0 || nameColumn < 0) {
+                throw new IllegalStateException("Listings file needs symbol and name columns: " + listings);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                List<String> columns = parseLine(line);
+                if (columns.size() <= Math.max(symbolColumn, nameColumn)) continue;
+                // a delisted row must not make its symbol look tradable
+                if (statusColumn >= 0 && statusColumn < columns.size()
+                        && !"Active".equalsIgnoreCase(columns.get(statusColumn).trim())) continue;
+                String exchange = exchangeColumn >= 0 && exchangeColumn < columns.size() ? columns.get(exchangeColumn) : "";
+                rows.add(new String[] {normalize(columns.get(symbolColumn)), columns.get(nameColumn).trim(), exchange});
+            }
+        }
+
+        rows.sort(Comparator.comparing(row -> row[0]));
+        int count = 0;
+        symbols = new String[rows.size()];
+        names = new String[rows.size()];
+        exchanges = new String[rows.size()];
+        for (String[] row : rows) {
+            // a symbol listed on more than one board keeps its first row
+            if (row[0].isEmpty() || (count > 0 && symbols[count - 1].equals(row[0]))) continue;
+            symbols[count] = row[0];
+            names[count] = row[1];
+            exchanges[count] = row[2];
+            count++;
+        }
+        symbols = Arrays.copyOf(symbols, count);
+        names = Arrays.copyOf(names, count);
+        exchanges = Arrays.copyOf(exchanges, count);
+        indexNameWords();
+
+        log.info("Symbol index loaded {} symbols and {} name words from {}", symbols.length, nameWords.length, listings);
+    }
+
+    // false only when rejection is on and the symbol is not listed, callers answer "not found" without an upstream call
+    public boolean accepts(String symbol) {
+        return !rejectUnknown || isKnown(symbol);
+    }
+
+    public boolean isKnown(String symbol) {
+        return symbol != null && Arrays.binarySearch(symbols, normalize(symbol)) >= 0;
+    }
+
+    // listed company name, null for unlisted symbols
+    public String nameOf(String symbol) {
+        int row = symbol == null ? -1 : Arrays.binarySearch(symbols, normalize(symbol));
+        return row >= 0 ? names[row] : null;
+    }
+
+    // listing exchange (NYSE, NSE, ...), null for unlisted symbols
+    public String exchangeOf(String symbol) {
+        int row = symbol == null ? -1 : Arrays.binarySearch(symbols, normalize(symbol));
+        return row >= 0 ? exchanges[row] : null;
+    }
+
+    public List<SymbolMatchDto> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) return List.of();
+
+        // exact symbol first, then other symbols with the prefix, then company names
+        Set<Integer> matches = new LinkedHashSet<>();
+        int exact = Arrays.binarySearch(symbols, prefix);
+        if (exact >= 0) matches.add(exact);
+        for (int i = lowerBound(symbols, prefix); i < symbols.length && matches.size() < limit
+                && symbols[i].startsWith(prefix); i++) {
+            matches.add(i);
+        }
+        for (int i = lowerBound(nameWords, prefix); i < nameWords.length && matches.size() < limit
+                && nameWords[i].startsWith(prefix); i++) {
+            matches.add(nameWordRows[i]);
+        }
+
+        List<SymbolMatchDto> results = new ArrayList<>(matches.size());
+        for (int row : matches) {
+            results.add(SymbolMatchDto.builder()
+                    .symbol(symbols[row])
+                    .name(names[row])
+                    .exchange(exchanges[row])
+                    .build());
+        }
+        return results;
+    }
+
+    public int size() {
+        return symbols.length;
+    }
+
+    private void indexNameWords() {
+        List<String> words = new ArrayList<>();
+        List<Integer> wordRows = new ArrayList<>();
+        for (int row = 0; row < names.length; row++) {
+            for (String word : names[row].toUpperCase(Locale.ROOT).split("[^A-Z0-9&]+")) {
+                if (!word.isEmpty()) {
+                    words.add(word);
+                    wordRows.add(row);
+                }
+            }
+        }
+
+        Integer[] order = new Integer[words.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparing(words::get));
+
+        nameWords = new String[order.length];
+        nameWordRows = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            nameWords[i] = words.get(order[i]);
+            nameWordRows[i] = wordRows.get(order[i]);
+        }
+    }
+
+    // first position whose value is >= key
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String symbol) {
+        return symbol == null ? "" : symbol.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // one CSV record, quoted fields may contain commas and doubled quotes
+    private static List<String> parseLine(String line) {
+        List<String> columns = new ArrayList<>();
+        if (line == null) return columns;
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        columns.add(field.toString());
+        return columns;
+    }
+}
@@ -0,0 +1,216 @@
+package com.MarketBriefApp.timeseries;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.MarketBriefApp.dto.CandleDto;
+
+// append-only OHLCV series for one symbol and interval. every field lives in its own
+// memory-mapped column file (8 bytes per row) so the data sits in the page cache,
+// not on the heap. the row count in the meta file is the commit point: an append
+// forces the rows it wrote in every column before it writes and forces the new count,
+// so after a crash the count never covers rows that did not reach the disk
+public class CandleSeries {
+
+    private static final int INITIAL_CAPACITY = 4096;
+    private static final int ROW_BYTES = Long.BYTES;
+
+    private final Path dir;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private MappedByteBuffer meta;
+    private MappedByteBuffer time;
+    private MappedByteBuffer open;
+    private MappedByteBuffer high;
+    private MappedByteBuffer low;
+    private MappedByteBuffer close;
+    private MappedByteBuffer volume;
+    private int capacity;
+    private int count;
+    private boolean closed;
+
+    CandleSeries(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        this.meta = map(dir.resolve("meta"), Long.BYTES);
+
+        // a count beyond the time column can only come from a damaged directory
+        Path timeFile = dir.resolve("t.col");
+        long existingRows = Files.exists(timeFile) ? Files.size(timeFile) / ROW_BYTES : 0;
+        this.count = (int) Math.min(meta.getLong(0), existingRows);
+        this.capacity = (int) Math.max(INITIAL_CAPACITY, existingRows);
+        mapColumns();
+    }
+
+    // rows must arrive in time order: a row for the last timestamp replaces it
+    // (the bar is still forming), older rows are ignored
+    public int append(List<CandleDto> candles) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            int written = 0;
+            int firstRow = -1;
+            int newCount = count;
+            for (CandleDto candle : candles) {
+                long last = newCount > 0 ? time.getLong((newCount - 1) * ROW_BYTES) : Long.MIN_VALUE;
+                if (candle.getT() < last) continue;
+
+                int row = candle.getT() == last ? newCount - 1 : newCount;
+                if (row == capacity) {
+                    capacity *= 2;
+                    mapColumns();
+                }
+                int offset = row * ROW_BYTES;
+                time.putLong(offset, candle.getT());
+                open.putDouble(offset, candle.getO());
+                high.putDouble(offset, candle.getH());
+                low.putDouble(offset, candle.getL());
+                close.putDouble(offset, candle.getC());
+                volume.putLong(offset, candle.getV());
+                if (row == newCount) {
+                    newCount++;
+                }
+                if (firstRow < 0) {
+                    firstRow = row;
+                }
+                written++;
+            }
+            if (written == 0) return 0;
+
+            int offset = firstRow * ROW_BYTES;
+            int length = (newCount - firstRow) * ROW_BYTES;
+            for (MappedByteBuffer column : columns()) {
+                column.force(offset, length);
+            }
+            meta.putLong(0, newCount);
+            meta.force();
+            count = newCount;
+            return written;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow candle series in " + dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // rows with from <= t <= to, at most limit of them counting back from the newest
+    public List<CandleDto> range(long from, long to, int limit) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            int start = lowerBound(from);
+            int end = lowerBound(to == Long.MAX_VALUE ? to : to + 1);
+            start = Math.max(start, end - limit);
+
+            List<CandleDto> candles = new ArrayList<>(Math.max(0, end - start));
+            for (int row = start; row < end; row++) {
+                int offset = row * ROW_BYTES;
+                candles.add(CandleDto.builder()
+                        .t(time.getLong(offset))
+                        .o(open.getDouble(offset))
+                        .h(high.getDouble(offset))
+                        .l(low.getDouble(offset))
+                        .c(close.getDouble(offset))
+                        .v(volume.getLong(offset))
+                        .build());
+            }
+            return candles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long lastTimestamp() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return count > 0 ? time.getLong((count - 1) * ROW_BYTES) : Long.MIN_VALUE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // forces every file and drops the mappings, which are unmapped once the buffers are
+    // collected. later calls throw ClosedException, CandleStore reopens the series for them
+    void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            for (MappedByteBuffer column : columns()) {
+                column.force();
+            }
+            meta.force();
+            time = open = high = low = close = volume = meta = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new ClosedException(dir);
+    }
+
+    private MappedByteBuffer[] columns() {
+        return new MappedByteBuffer[] { time, open, high, low, close, volume };
+    }
+
+    // first row whose timestamp is >= t
+    private int lowerBound(long t) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (time.getLong(mid * ROW_BYTES) < t) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // on growth the old, smaller mappings share their pages with the new ones and are
+    // left for the collector to unmap
+    private void mapColumns() throws IOException {
+        long bytes = (long) capacity * ROW_BYTES;
+        time = map(dir.resolve("t.col"), bytes);
+        open = map(dir.resolve("o.col"), bytes);
+        high = map(dir.resolve("h.col"), bytes);
+        low = map(dir.resolve("l.col"), bytes);
+        close = map(dir.resolve("c.col"), bytes);
+        volume = map(dir.resolve("v.col"), bytes);
+    }
+
+    // the mapping stays valid after the channel is closed, so no descriptors are held open
+    private static MappedByteBuffer map(Path file, long bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        }
+    }
+
+    // the series was closed by the store while the caller still held it
+    static class ClosedException extends IllegalStateException {
+        ClosedException(Path dir) {
+            super("Candle series in " + dir + " is closed");
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.MarketBriefApp.timeseries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.MarketBriefApp.dto.CandleDto;
+
+import jakarta.annotation.PreDestroy;
+
+// one CandleSeries per symbol and interval under app.timeseries.dir. a series is only
+// created by an append that has rows, reads of a symbol never stored return nothing
+// without touching the disk. at most max-open-series stay mapped, the least recently
+// used one is closed and dropped when another has to be opened
+@Component
+public class CandleStore {
+
+    @Value("${app.timeseries.dir}")
+    private Path baseDir;
+
+    @Value("${app.timeseries.max-open-series}")
+    private int maxOpenSeries;
+
+    private final Map<String, CandleSeries> open = new LinkedHashMap<>(16, 0.75f, true);
+
+    public int append(String symbol, String interval, List<CandleDto> candles) {
+        if (candles.isEmpty()) return 0;
+        return withSeries(key(symbol, interval), true, series -> series.append(candles), 0);
+    }
+
+    // rows with from <= t <= to, at most limit of them counting back from the newest
+    public List<CandleDto> range(String symbol, String interval, long from, long to, int limit) {
+        return withSeries(key(symbol, interval), false, series -> series.range(from, to, limit), List.of());
+    }
+
+    // Long.MIN_VALUE when nothing is stored
+    public long lastTimestamp(String symbol, String interval) {
+        return withSeries(key(symbol, interval), false, CandleSeries::lastTimestamp, Long.MIN_VALUE);
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        open.values().forEach(CandleSeries::close);
+        open.clear();
+    }
+
+    // a series evicted between lookup and use is simply looked up (reopened) again
+    private <T> T withSeries(String key, boolean create, Function<CandleSeries, T> operation, T absent) {
+        while (true) {
+            CandleSeries series = lookup(key, create);
+            if (series == null) return absent;
+            try {
+                return operation.apply(series);
+            } catch (CandleSeries.ClosedException e) {
+                // evicted by another thread, retry
+            }
+        }
+    }
+
+    private synchronized CandleSeries lookup(String key, boolean create) {
+        CandleSeries series = open.get(key);
+        if (series != null) return series;
+
+        Path dir = baseDir.resolve(key);
+        if (!create && !Files.exists(dir.resolve("meta"))) return null;
+        try {
+            series = new CandleSeries(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open candle series " + key, e);
+        }
+        open.put(key, series);
+        if (open.size() > maxOpenSeries) {
+            Map.Entry<String, CandleSeries> eldest = open.entrySet().iterator().next();
+            open.remove(eldest.getKey());
+            eldest.getValue().close();
+        }
+        return series;
+    }
+
+    private static String key(String symbol, String interval) {
+        return fileSafe(symbol.trim().toUpperCase()) + "/" + fileSafe(interval);
+    }
+
+    // names made only of dots would resolve outside the store
+    private static String fileSafe(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._^=-]", "_");
+        if (safe.isEmpty() || safe.chars().allMatch(c -> c == '.')) {
+            throw new IllegalArgumentException("Invalid candle series name: " + name);
+        }
+        return safe;
+    }
+}
@@ -0,0 +1,57 @@
+package com.MarketBriefApp.alert;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ThresholdBookTests {
+
+    @Test
+    void drainsExactlyTheReachedAlertsOnce() {
+        ThresholdBook book = new ThresholdBook();
+        book.add(110, 1, 100);
+        book.add(105, 2, 200);
+        book.add(120, 3, 100);
+        book.add(105, 4, 300);
+
+        assertThat(drain(book, 104)).isEmpty();
+        assertThat(drain(book, 105)).containsExactly(2L, 4L);
+        assertThat(drain(book, 115)).containsExactly(1L);
+        assertThat(drain(book, 115)).isEmpty();
+        assertThat(book.size()).isEqualTo(1);
+
+        assertThat(book.remove(3)).isTrue();
+        assertThat(drain(book, 1_000)).isEmpty();
+    }
+
+    @Test
+    void bulkLoadMatchesInsertOrder() {
+        Random random = new Random(42);
+        ThresholdBook inserted = new ThresholdBook();
+        ThresholdBook loaded = new ThresholdBook();
+        for (int i = 0; i < 5_000; i++) {
+            double key = random.nextInt(500) / 4.0;
+            inserted.add(key, i, i);
+            loaded.append(key, i, i);
+        }
+        loaded.sort();
+
+        for (double probe = 0; probe <= 130; probe += 7.5) {
+            List<Long> expected = drain(inserted, probe);
+            List<Long> actual = drain(loaded, probe);
+            assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+        }
+        assertThat(loaded.size()).isZero();
+    }
+
+    private List<Long> drain(ThresholdBook book, double value) {
+        List<Long> ids = new ArrayList<>();
+        book.drainReached(value, (alertId, userId, key) -> ids.add(alertId));
+        ids.sort(null);
+        return ids;
+    }
+}
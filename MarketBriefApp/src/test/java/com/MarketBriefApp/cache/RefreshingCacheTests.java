@@ -0,0 +1,40 @@
+package com.MarketBriefApp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RefreshingCacheTests {
+
+    private final UpstreamCacheFactory factory = new UpstreamCacheFactory(new CaffeineCacheManager(),
+            Executors.newVirtualThreadPerTaskExecutor(), new SimpleMeterRegistry(), null);
+
+    @Test
+    void prewarmSkipsEntriesThatExpireSoonAfterTheyMayRefresh() {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingCache<String> quotes = factory.create("quotes", Duration.ofSeconds(15), Duration.ofSeconds(60), 10,
+                (key, priority) -> key + fetches.incrementAndGet(), value -> true);
+
+        assertThat(quotes.worthPrewarming(Duration.ofSeconds(60))).isFalse();
+        assertThat(quotes.prewarm("IBM", Duration.ofSeconds(60))).isFalse();
+        assertThat(fetches).hasValue(0);
+    }
+
+    @Test
+    void prewarmFetchesMissingEntriesOnceUntilTheyNearExpiry() {
+        AtomicInteger fetches = new AtomicInteger();
+        RefreshingCache<String> overviews = factory.create("overviews", Duration.ofHours(6), Duration.ofHours(24), 10,
+                (key, priority) -> key + fetches.incrementAndGet(), value -> true);
+
+        assertThat(overviews.prewarm("IBM", Duration.ofSeconds(60))).isTrue();
+        assertThat(overviews.prewarm("IBM", Duration.ofSeconds(60))).isFalse();
+        assertThat(overviews.getIfPresent("IBM")).isEqualTo("IBM1");
+    }
+}
@@ -0,0 +1,41 @@
+package com.MarketBriefApp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    @Test
+    void waitersGetTheLeadersErrorInsteadOfBlocking() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>("test");
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> flight.execute("IBM", () -> {
+            leaderStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new AssertionError("boom");
+        }));
+        assertThat(leaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> flight.execute("IBM", () -> "own call"));
+        // give the waiter time to join the running call
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(AssertionError.class);
+        assertThat(flight.inFlightCount()).isZero();
+        assertThat(flight.maxCallersPerCall()).isEqualTo(2);
+    }
+}
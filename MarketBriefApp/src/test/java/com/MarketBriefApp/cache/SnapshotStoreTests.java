@@ -0,0 +1,66 @@
+package com.MarketBriefApp.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+import tools.jackson.databind.json.JsonMapper;
+
+class SnapshotStoreTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotesSurviveARestartIncludingUnreportedPrices() {
+        SnapshotStore before = store();
+        SnapshotTable<StockQuote> written = before.open("stockQuote", StockQuote.class, 10);
+        written.put("IBM", StockQuote.builder().symbol("IBM").price(251.5).volume(1200).build());
+        before.flush();
+
+        SnapshotTable<StockQuote> restored = store().open("stockQuote", StockQuote.class, 10);
+        Snapshot<StockQuote> snapshot = restored.get("IBM");
+        assertThat(snapshot.value().price()).isEqualTo(251.5);
+        assertThat(snapshot.value().open()).isNaN();
+        assertThat(restored.isRestored(snapshot)).isTrue();
+
+        restored.put("IBM", StockQuote.builder().symbol("IBM").price(252).build());
+        assertThat(restored.isRestored(restored.get("IBM"))).isFalse();
+    }
+
+    @Test
+    void flushKeepsTheNewestEntriesWithinMaxSize() throws Exception {
+        SnapshotStore store = store();
+        SnapshotTable<StockQuote> table = store.open("stockQuote", StockQuote.class, 2);
+        for (String symbol : new String[] { "A", "B", "C" }) {
+            table.put(symbol, StockQuote.builder().symbol(symbol).build());
+            Thread.sleep(2);
+        }
+        store.flush();
+
+        SnapshotTable<StockQuote> restored = store().open("stockQuote", StockQuote.class, 2);
+        assertThat(restored.size()).isEqualTo(2);
+        assertThat(restored.get("A")).isNull();
+    }
+
+    @Test
+    void unreadableFileStartsEmpty() throws Exception {
+        Files.writeString(dir.resolve("stockQuote.json.gz"), "not gzip");
+        assertThat(store().open("stockQuote", StockQuote.class, 10).size()).isZero();
+    }
+
+    private SnapshotStore store() {
+        SnapshotStore store = new SnapshotStore(JsonMapper.builder().build());
+        ReflectionTestUtils.setField(store, "dir", dir);
+        ReflectionTestUtils.setField(store, "maxAge", Duration.ofHours(24));
+        return store;
+    }
+}
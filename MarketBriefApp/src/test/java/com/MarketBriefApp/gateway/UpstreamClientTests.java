@@ -0,0 +1,133 @@
+package com.MarketBriefApp.gateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import com.MarketBriefApp.exception.ClientAbortedException;
+import com.MarketBriefApp.exception.UpstreamUnavailableException;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.quota.Priority;
+import com.MarketBriefApp.quota.QuotaGovernor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UpstreamClientTests {
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRecoversThroughOneTrialCall() throws InterruptedException {
+        UpstreamClient client = client(4, new CircuitBreaker(3, Duration.ofMillis(200)));
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> client.call("op", rest -> {
+                calls.incrementAndGet();
+                throw new IllegalStateException("down");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(client.getCircuitBreaker().state()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // open: refused without running the call
+        assertThatThrownBy(() -> client.call("op", rest -> calls.incrementAndGet()))
+                .isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(calls).hasValue(3);
+
+        Thread.sleep(250);
+        int trial = client.call("op", rest -> calls.incrementAndGet());
+        assertThat(trial).isEqualTo(4);
+        assertThat(client.getCircuitBreaker().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void rateLimitedReplyOpensImmediately() {
+        UpstreamClient client = client(4, new CircuitBreaker(5, Duration.ofMinutes(1)));
+
+        client.call("op", rest -> "Note: rate limit", body -> body.startsWith("Note"));
+
+        assertThat(client.getCircuitBreaker().state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void bulkheadRefusesCallsBeyondItsSlots() throws Exception {
+        UpstreamClient client = client(1, new CircuitBreaker(5, Duration.ofMinutes(1)));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> client.call("slow", rest -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "done";
+            }));
+            started.await();
+
+            assertThatThrownBy(() -> client.call("fast", rest -> "never"))
+                    .isInstanceOf(UpstreamUnavailableException.class);
+            assertThat(client.bulkheadRejections()).isEqualTo(1);
+            release.countDown();
+        }
+    }
+
+    @Test
+    void callerAbortsNeverOpenTheCircuit() {
+        UpstreamClient client = client(4, new CircuitBreaker(2, Duration.ofMinutes(1)));
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.call("stream", rest -> {
+                throw new ClientAbortedException("closed", null);
+            })).isInstanceOf(ClientAbortedException.class);
+        }
+
+        assertThat(client.getCircuitBreaker().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void errorDuringTheTrialCallFreesTheTrialSlot() throws InterruptedException {
+        UpstreamClient client = client(4, new CircuitBreaker(1, Duration.ofMillis(100)));
+        assertThatThrownBy(() -> client.call("op", rest -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        Thread.sleep(150);
+        assertThatThrownBy(() -> client.call("op", rest -> {
+            throw new AssertionError("boom");
+        })).isInstanceOf(AssertionError.class);
+
+        assertThat(client.<String>call("op", rest -> "up")).isEqualTo("up");
+        assertThat(client.getCircuitBreaker().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void refusedCallsSpendNoQuota() {
+        UpstreamClient client = client(4, new CircuitBreaker(1, Duration.ofMinutes(1)));
+        QuotaGovernor quota = new QuotaGovernor("test", 60, 25, Duration.ZERO, 0);
+        assertThatThrownBy(() -> client.call("op", quota, Priority.INTERACTIVE, rest -> {
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(quota.remainingToday()).isEqualTo(24);
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> client.call("op", quota, Priority.BACKGROUND, rest -> "never"))
+                    .isInstanceOf(UpstreamUnavailableException.class);
+        }
+
+        assertThat(quota.remainingToday()).isEqualTo(24);
+    }
+
+    private UpstreamClient client(int maxConcurrent, CircuitBreaker circuitBreaker) {
+        return new UpstreamClient("test", RestClient.create(), new UpstreamMetrics(new SimpleMeterRegistry()),
+                maxConcurrent, Duration.ofMillis(50), circuitBreaker);
+    }
+}
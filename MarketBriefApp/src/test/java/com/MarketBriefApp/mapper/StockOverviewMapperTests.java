@@ -0,0 +1,48 @@
+package com.MarketBriefApp.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.MarketBriefApp.dto.StockOverviewResponseDto;
+import com.MarketBriefApp.service.external.model.StockOverview;
+import com.MarketBriefApp.service.external.model.StockQuote;
+
+// the formatted response keeps the text the upstream sent, only derived values are rounded
+class StockOverviewMapperTests {
+
+    private final StockOverviewMapper mapper = new StockOverviewMapper();
+
+    @Test
+    void keepsUpstreamPrecision() {
+        // "05. price": "189.8400", "10. change percent": "1.2345%"
+        StockQuote quote = StockQuote.builder().price(189.84).changePercent(1.2345).high(190.1).low(187.0)
+                .open(188.0).previousClose(187.5).volume(1000).build();
+        // "PERatio": "28.5", "EPS": "6.43", "52WeekHigh": "199.62"
+        StockOverview overview = StockOverview.builder().name("Apple Inc").peRatio(28.5).eps(6.43)
+                .week52High(199.62).marketCapitalization(2.5e12).returnOnEquity(0.156).build();
+
+        StockOverviewResponseDto response = mapper.toResponse("aapl", overview, quote, false);
+
+        assertThat(response.getPrice()).isEqualTo("189.8400");
+        assertThat(response.getChangePercent()).isEqualTo("1.2345");
+        assertThat(response.getDayLow()).isEqualTo("187.0000");
+        assertThat(response.getPeRatio()).isEqualTo("28.5");
+        assertThat(response.getEps()).isEqualTo("6.43");
+        assertThat(response.getWeek52High()).isEqualTo("199.62");
+        assertThat(response.getMarketCap()).isEqualTo("2.50T");
+        assertThat(response.getRoe()).isEqualTo("15.60%");
+        assertThat(response.getUpperCircuit()).isEqualTo("227.81");
+        assertThat(response.getWeek52Low()).isEqualTo("N/A");
+    }
+
+    @Test
+    void missingQuoteFallsBackToZeros() {
+        StockOverviewResponseDto response = mapper.toResponse("IBM", StockOverview.EMPTY, StockQuote.EMPTY, true);
+
+        assertThat(response.getPrice()).isEqualTo("0.00");
+        assertThat(response.getChangePercent()).isEqualTo("0");
+        assertThat(response.getName()).isEqualTo("IBM");
+        assertThat(response.getUpperCircuit()).isEqualTo("N/A");
+    }
+}
@@ -0,0 +1,74 @@
+package com.MarketBriefApp.market;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+class MarketCalendarTests {
+
+    private final MarketCalendar calendar = new MarketCalendar(new SymbolIndex());
+
+    @BeforeEach
+    void configure() {
+        ReflectionTestUtils.setField(calendar, "closeGrace", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(calendar, "usHolidays", List.of("2026-07-03"));
+        ReflectionTestUtils.setField(calendar, "indiaHolidays", List.of("2026-10-02"));
+        calendar.loadHolidays();
+    }
+
+    @Test
+    void sessionsFollowLocalExchangeHours() {
+        // Thursday 2026-10-01
+        assertThat(calendar.isOpen(Market.INDIA, india("2026-10-01T09:14"))).isFalse();
+        assertThat(calendar.isOpen(Market.INDIA, india("2026-10-01T09:15"))).isTrue();
+        assertThat(calendar.isOpen(Market.INDIA, india("2026-10-01T15:44"))).isTrue();
+        assertThat(calendar.isOpen(Market.INDIA, india("2026-10-01T15:45"))).isFalse();
+        assertThat(calendar.isOpen(Market.INDIA, india("2026-10-02T11:00"))).isFalse();
+        assertThat(calendar.isOpen(Market.US, us("2026-07-03T11:00"))).isFalse();
+        assertThat(calendar.isOpen(Market.US, us("2026-07-04T11:00"))).isFalse();
+        assertThat(calendar.isOpen(Market.US, us("2026-07-06T11:00"))).isTrue();
+    }
+
+    @Test
+    void aQuoteFetchedAfterTheCloseStaysCurrentUntilTheNextOpen() {
+        long thursdayEvening = india("2026-10-01T16:00").toEpochMilli();
+        assertThat(calendar.mayHaveChanged(Market.INDIA, thursdayEvening, india("2026-10-04T12:00"))).isFalse();
+        assertThat(calendar.mayHaveChanged(Market.INDIA, thursdayEvening, india("2026-10-05T09:15"))).isTrue();
+
+        long beforeClose = india("2026-10-01T15:20").toEpochMilli();
+        assertThat(calendar.mayHaveChanged(Market.INDIA, beforeClose, india("2026-10-01T18:00"))).isTrue();
+
+        // Thursday close to Monday open, skipping the holiday and the weekend
+        assertThat(calendar.untilNextOpen(Market.INDIA, india("2026-10-01T16:00")))
+                .isEqualTo(Duration.ofHours(89).plusMinutes(15));
+        assertThat(calendar.untilNextOpen(Market.INDIA, india("2026-10-05T10:00"))).isZero();
+    }
+
+    @Test
+    void marketComesFromExchangeCurrencyOrSuffix() {
+        assertThat(calendar.marketOf("NSE", null)).isEqualTo(Market.INDIA);
+        assertThat(calendar.marketOf("NYSE ARCA", null)).isEqualTo(Market.US);
+        assertThat(calendar.marketOf(null, "INR")).isEqualTo(Market.INDIA);
+        assertThat(calendar.marketOf(null, null)).isNull();
+        assertThat(calendar.marketOf("reliance.ns")).isEqualTo(Market.INDIA);
+        assertThat(calendar.marketOf("TCS.BSE")).isEqualTo(Market.INDIA);
+        assertThat(calendar.marketOf("IBM")).isEqualTo(Market.US);
+    }
+
+    private static Instant india(String local) {
+        return LocalDateTime.parse(local).atZone(Market.INDIA.getZone()).toInstant();
+    }
+
+    private static Instant us(String local) {
+        return LocalDateTime.parse(local).atZone(Market.US.getZone()).toInstant();
+    }
+}
@@ -0,0 +1,107 @@
+package com.MarketBriefApp.quota;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.MarketBriefApp.exception.QuotaExceededException;
+
+// time is driven by hand: nanos for the minute bucket, the clock for the UTC day
+class QuotaGovernorTests {
+
+    private long nanos;
+    private Instant now = Instant.parse("2026-03-02T10:00:00Z");
+
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    };
+
+    @Test
+    void minuteBucketRefillsContinuously() {
+        QuotaGovernor quota = governor(5, 0, 0.0);
+        for (int i = 0; i < 5; i++) {
+            quota.acquire(Priority.INTERACTIVE);
+        }
+        assertThatThrownBy(() -> quota.acquire(Priority.INTERACTIVE)).isInstanceOf(QuotaExceededException.class);
+
+        // one token comes back every 12 seconds at 5 per minute
+        advance(Duration.ofSeconds(12));
+        quota.acquire(Priority.INTERACTIVE);
+        assertThatThrownBy(() -> quota.acquire(Priority.INTERACTIVE)).isInstanceOf(QuotaExceededException.class);
+        assertThat(quota.rejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dailyBudgetResetsAtUtcMidnight() {
+        QuotaGovernor quota = governor(100, 3, 0.0);
+        for (int i = 0; i < 3; i++) {
+            quota.acquire(Priority.INTERACTIVE);
+        }
+        assertThat(quota.remainingToday()).isZero();
+        assertThatThrownBy(() -> quota.acquire(Priority.INTERACTIVE))
+                .isInstanceOf(QuotaExceededException.class)
+                .extracting(e -> ((QuotaExceededException) e).getRetryAfter())
+                .isEqualTo(Duration.ofHours(14));
+
+        now = Instant.parse("2026-03-03T00:00:01Z");
+        assertThat(quota.remainingToday()).isEqualTo(3);
+        assertThatCode(() -> quota.acquire(Priority.INTERACTIVE)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void backgroundCallersLeaveTheReserveToInteractiveOnes() {
+        // a fifth of 10 per minute and of 10 per day is kept for interactive callers
+        QuotaGovernor quota = governor(10, 10, 0.2);
+        for (int i = 0; i < 8; i++) {
+            quota.acquire(Priority.BACKGROUND);
+        }
+        assertThatThrownBy(() -> quota.acquire(Priority.BACKGROUND)).isInstanceOf(QuotaExceededException.class);
+        quota.acquire(Priority.INTERACTIVE);
+        quota.acquire(Priority.INTERACTIVE);
+        assertThat(quota.remainingToday()).isZero();
+    }
+
+    @Test
+    void interactiveCallersDoNotQueuePastTheirDeadline() {
+        QuotaGovernor quota = new QuotaGovernor("test", 1, 0, Duration.ofSeconds(30), 0.0, clock, () -> nanos);
+        quota.acquire(Priority.INTERACTIVE);
+
+        // the next token is a minute away, the caller only has a second left
+        long deadline = nanos + TimeUnit.SECONDS.toNanos(1);
+        assertThatThrownBy(() -> Deadline.within(deadline, () -> {
+            quota.acquire(Priority.INTERACTIVE);
+            return null;
+        })).isInstanceOf(QuotaExceededException.class);
+    }
+
+    private QuotaGovernor governor(int perMinute, int perDay, double backgroundReserve) {
+        return new QuotaGovernor("test", perMinute, perDay, Duration.ZERO, backgroundReserve, clock, () -> nanos);
+    }
+
+    private void advance(Duration duration) {
+        nanos += duration.toNanos();
+        now = now.plus(duration);
+    }
+}
@@ -0,0 +1,39 @@
+package com.MarketBriefApp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.MarketBriefApp.repository.SymbolLookup;
+
+class PrewarmSchedulerTests {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    @Test
+    void recentLookupsOutweighOlderOnes() {
+        List<SymbolLookup> lookups = List.of(
+                new SymbolLookup("ibm", now.minusHours(1)),
+                new SymbolLookup("AAPL", now.minusDays(3)),
+                new SymbolLookup("AAPL", now.minusDays(3)),
+                new SymbolLookup("AAPL", now.minusDays(3)),
+                new SymbolLookup(" msft ", now.minusHours(2)),
+                new SymbolLookup("MSFT", now.minusHours(3)));
+
+        // three lookups three half-lives ago count 3/8, less than one from an hour ago
+        assertThat(PrewarmScheduler.rank(lookups, now, Duration.ofDays(1), 10))
+                .containsExactly("MSFT", "IBM", "AAPL");
+        assertThat(PrewarmScheduler.rank(lookups, now, Duration.ofDays(1), 2)).containsExactly("MSFT", "IBM");
+    }
+
+    @Test
+    void tiesAreOrderedBySymbol() {
+        List<SymbolLookup> lookups = List.of(new SymbolLookup("TCS.NSE", now), new SymbolLookup("INFY.NSE", now));
+        assertThat(PrewarmScheduler.rank(lookups, now, Duration.ofHours(24), 5))
+                .containsExactly("INFY.NSE", "TCS.NSE");
+    }
+}
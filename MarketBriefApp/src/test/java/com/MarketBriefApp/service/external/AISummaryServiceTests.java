@@ -0,0 +1,121 @@
+package com.MarketBriefApp.service.external;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestClient;
+
+import com.MarketBriefApp.cache.SingleFlightRegistry;
+import com.MarketBriefApp.cache.UpstreamCacheFactory;
+import com.MarketBriefApp.gateway.CircuitBreaker;
+import com.MarketBriefApp.gateway.UpstreamClient;
+import com.MarketBriefApp.metrics.UpstreamMetrics;
+import com.MarketBriefApp.quota.QuotaGovernor;
+import com.MarketBriefApp.symbols.SymbolIndex;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.json.JsonMapper;
+
+// runs the streaming summary against a local stub of the chat-completions endpoint
+class AISummaryServiceTests {
+
+    private static final List<String> CHUNKS = List.of(
+            "{\"choices\":[{\"delta\":{\"role\":\"assistant\"}}]}",
+            "{\"choices\":[{\"delta\":{\"content\":\"🟢 Revenue\"}}]}",
+            "{\"choices\":[{\"delta\":{\"content\":\" beat\\n\"}}]}",
+            "{\"choices\":[{\"delta\":{\"content\":\"🔴 Margins fell\"}}]}",
+            "{\"choices\":[{\"delta\":{},\"finish_reason\":\"stop\"}]}");
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private AISummaryService service;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final AtomicReference<String> lastRequestBody = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/chat", exchange -> {
+            upstreamCalls.incrementAndGet();
+            lastRequestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String chunk : CHUNKS) {
+                    out.write(("data: " + chunk + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                }
+                out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new AISummaryService(new QuotaGovernor("Groq", 60, 0, Duration.ZERO, 0),
+                new UpstreamCacheFactory(new CaffeineCacheManager(), executor, meterRegistry, null),
+                JsonMapper.builder().build(), new UpstreamClient("groq", RestClient.create(),
+                        new UpstreamMetrics(meterRegistry), 4, Duration.ofSeconds(1),
+                        new CircuitBreaker(5, Duration.ofSeconds(30))),
+                promptBuilder(), new SingleFlightRegistry());
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "groqUrl", "http://localhost:" + server.getAddress().getPort() + "/chat");
+        ReflectionTestUtils.setField(service, "summaryExpireAfter", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(service, "summaryMaxSize", 10L);
+        service.initCache();
+    }
+
+    private static SummaryPromptBuilder promptBuilder() {
+        SummaryPromptBuilder builder = new SummaryPromptBuilder(new SymbolIndex());
+        ReflectionTestUtils.setField(builder, "inputTokenBudget", 1500);
+        ReflectionTestUtils.setField(builder, "maxArticleTokens", 200);
+        return builder;
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.close();
+    }
+
+    @Test
+    void relaysTokensInOrderAndReturnsAssembledSummary() {
+        List<String> tokens = new ArrayList<>();
+
+        String summary = service.streamSummary("TCS.NS", List.of("TCS wins a large deal"), tokens::add);
+
+        assertThat(tokens).containsExactly("🟢 Revenue", " beat\n", "🔴 Margins fell");
+        assertThat(summary).isEqualTo("🟢 Revenue beat\n🔴 Margins fell");
+        assertThat(lastRequestBody.get()).contains("\"stream\":true");
+    }
+
+    @Test
+    void repeatedArticleSetIsServedFromCache() {
+        service.streamSummary("TCS.NS", List.of("TCS wins a large deal", "Q3 results due"), token -> { });
+        List<String> tokens = new ArrayList<>();
+
+        String summary = service.streamSummary("tcs.ns", List.of("q3 results   due", "TCS wins a large deal"), tokens::add);
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(tokens).containsExactly(summary);
+        assertThat(service.summarizeNews("TCS.NS", List.of("TCS wins a large deal", "Q3 results due"))).isEqualTo(summary);
+    }
+}
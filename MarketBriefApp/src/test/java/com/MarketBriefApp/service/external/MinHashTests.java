@@ -0,0 +1,30 @@
+package com.MarketBriefApp.service.external;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashTests {
+
+    private static final String ORIGINAL = "Apple shares rise after strong iPhone sales beat Wall Street estimates. "
+            + "The company reported record revenue in its fiscal fourth quarter driven by iPhone 15 demand.";
+
+    @Test
+    void separatesSyndicatedCopiesFromOtherStories() {
+        double reworded = similarity(ORIGINAL, "UPDATE 1-Apple shares climb as iPhone sales top estimates. "
+                + "The company reported record revenue in its fiscal fourth quarter driven by iPhone 15 demand.");
+        double sameCompany = similarity(ORIGINAL, "Apple shares fall after iPhone sales miss Wall Street estimates. "
+                + "Analysts cut price targets citing weak demand in China for the quarter.");
+        double unrelated = similarity(ORIGINAL, "Microsoft cloud growth slows as Azure revenue misses forecasts. "
+                + "Shares fell in extended trading after the software maker gave a weak outlook.");
+
+        assertThat(similarity(ORIGINAL, ORIGINAL)).isEqualTo(1.0);
+        assertThat(reworded).isGreaterThanOrEqualTo(0.6);
+        assertThat(sameCompany).isLessThan(0.6);
+        assertThat(unrelated).isLessThan(0.3);
+    }
+
+    private double similarity(String a, String b) {
+        return MinHash.similarity(MinHash.signature(a), MinHash.signature(b));
+    }
+}
@@ -0,0 +1,43 @@
+package com.MarketBriefApp.service.external;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.symbols.SymbolIndex;
+
+class SummaryPromptBuilderTests {
+
+    @Test
+    void staysWithinBudgetAndPrefersArticlesAboutTheSymbol() {
+        SummaryPromptBuilder builder = new SummaryPromptBuilder(new SymbolIndex());
+        ReflectionTestUtils.setField(builder, "inputTokenBudget", 600);
+        ReflectionTestUtils.setField(builder, "maxArticleTokens", 60);
+
+        List<String> articles = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            articles.add("Markets roundup " + i + ": stocks drifted as investors waited for rate news. ".repeat(3));
+        }
+        articles.add("IBM beats quarterly estimates as consulting revenue grows and software margins widen.");
+        articles.add("x".repeat(5_000));
+
+        String prompt = builder.build("IBM", articles);
+
+        assertThat(SummaryPromptBuilder.estimateTokens(prompt)).isLessThanOrEqualTo(600);
+        assertThat(prompt).contains("IBM beats quarterly estimates");
+        assertThat(prompt).contains("Markets roundup 0:").doesNotContain("Markets roundup 29:");
+    }
+
+    @Test
+    void truncatesAtWordBoundaries() {
+        String article = "word ".repeat(500).strip();
+        String cut = SummaryPromptBuilder.truncate(article, 50);
+
+        assertThat(SummaryPromptBuilder.estimateTokens(cut)).isLessThanOrEqualTo(50);
+        assertThat(cut).endsWith("word …");
+    }
+}
@@ -0,0 +1,63 @@
+package com.MarketBriefApp.symbols;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.dto.SymbolMatchDto;
+
+// runs against the bundled listings file
+class SymbolIndexTests {
+
+    private final SymbolIndex index = new SymbolIndex();
+
+    @BeforeEach
+    void load() throws Exception {
+        ReflectionTestUtils.setField(index, "listings", new ClassPathResource("symbols/listings.csv"));
+        ReflectionTestUtils.setField(index, "rejectUnknown", true);
+        index.load();
+    }
+
+    @Test
+    void exactSymbolComesFirstThenPrefixesThenNames() {
+        List<String> symbols = index.search("tcs", 5).stream().map(SymbolMatchDto::getSymbol).toList();
+        assertThat(symbols).startsWith("TCS.BSE", "TCS.NSE");
+
+        assertThat(index.search("AMD", 3).get(0).getSymbol()).isEqualTo("AMD");
+        assertThat(index.search("micro", 10)).extracting(SymbolMatchDto::getSymbol)
+                .contains("MSFT", "MU", "AMD");
+        assertThat(index.search("A", 4)).hasSize(4);
+    }
+
+    @Test
+    void rejectsUnlistedSymbols() {
+        assertThat(index.accepts(" aapl ")).isTrue();
+        assertThat(index.accepts("RELIANCE.NSE")).isTrue();
+        assertThat(index.accepts("NOTATICKER")).isFalse();
+        assertThat(index.search("zzzz", 10)).isEmpty();
+    }
+
+    @Test
+    void skipsRowsThatAreNotActive() throws Exception {
+        String csv = """
+                symbol,name,exchange,assetType,ipoDate,delistingDate,status
+                OLD,Old Corp,NYSE,Stock,,2019-01-02,Delisted
+                NEW,New Corp,NYSE,Stock,,null,Delisted
+                NEW,New Corp,NASDAQ,Stock,,null,Active
+                """;
+        SymbolIndex listed = new SymbolIndex();
+        ReflectionTestUtils.setField(listed, "listings", new ByteArrayResource(csv.getBytes(StandardCharsets.UTF_8)));
+        ReflectionTestUtils.setField(listed, "rejectUnknown", true);
+        listed.load();
+
+        assertThat(listed.accepts("OLD")).isFalse();
+        assertThat(listed.exchangeOf("NEW")).isEqualTo("NASDAQ");
+    }
+}
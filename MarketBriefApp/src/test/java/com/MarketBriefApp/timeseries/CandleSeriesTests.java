@@ -0,0 +1,102 @@
+package com.MarketBriefApp.timeseries;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.MarketBriefApp.dto.CandleDto;
+
+class CandleSeriesTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void appendReplacesTheFormingBarAndSkipsOlderRows() throws Exception {
+        CandleSeries series = new CandleSeries(dir);
+        assertThat(series.append(List.of(bar(60, 1), bar(120, 2), bar(180, 3)))).isEqualTo(3);
+        assertThat(series.append(List.of(bar(120, 9), bar(180, 4), bar(240, 5)))).isEqualTo(2);
+
+        assertThat(series.range(0, Long.MAX_VALUE, 10)).extracting(CandleDto::getC)
+                .containsExactly(1.0, 2.0, 4.0, 5.0);
+        assertThat(series.range(120, 180, 10)).extracting(CandleDto::getT).containsExactly(120L, 180L);
+        // the limit counts back from the newest row in the range
+        assertThat(series.range(0, Long.MAX_VALUE, 2)).extracting(CandleDto::getT).containsExactly(180L, 240L);
+        series.close();
+    }
+
+    @Test
+    void reopenKeepsRowsPastTheInitialCapacity() throws Exception {
+        CandleSeries series = new CandleSeries(dir);
+        List<CandleDto> bars = new ArrayList<>();
+        for (int i = 1; i <= 5000; i++) {
+            bars.add(bar(i * 60L, i));
+        }
+        series.append(bars);
+        series.close();
+        assertThatThrownBy(series::size).isInstanceOf(CandleSeries.ClosedException.class);
+
+        CandleSeries reopened = new CandleSeries(dir);
+        assertThat(reopened.size()).isEqualTo(5000);
+        assertThat(reopened.lastTimestamp()).isEqualTo(300_000L);
+        assertThat(reopened.range(0, 120, 10)).extracting(CandleDto::getC).containsExactly(1.0, 2.0);
+        reopened.close();
+    }
+
+    @Test
+    void rowsBeyondTheCommittedCountAreNotVisibleAfterReopen() throws Exception {
+        CandleSeries series = new CandleSeries(dir);
+        series.append(List.of(bar(60, 1), bar(120, 2)));
+        series.close();
+
+        // a crash after the columns were written but before the meta count: row 2 exists
+        // in t.col, the commit point still says two rows
+        try (FileChannel time = FileChannel.open(dir.resolve("t.col"), StandardOpenOption.WRITE)) {
+            time.write(ByteBuffer.allocate(Long.BYTES).putLong(0, 180), 2L * Long.BYTES);
+        }
+
+        CandleSeries reopened = new CandleSeries(dir);
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(reopened.lastTimestamp()).isEqualTo(120);
+        // the uncommitted row is overwritten by the next append
+        reopened.append(List.of(bar(150, 7)));
+        assertThat(reopened.range(0, Long.MAX_VALUE, 10)).extracting(CandleDto::getT).containsExactly(60L, 120L, 150L);
+        reopened.close();
+    }
+
+    @Test
+    void storeOpensSeriesOnlyForAppendsAndUnmapsTheLeastRecentlyUsed() throws Exception {
+        CandleStore store = new CandleStore();
+        ReflectionTestUtils.setField(store, "baseDir", dir);
+        ReflectionTestUtils.setField(store, "maxOpenSeries", 1);
+
+        assertThat(store.range("IBM", "1d", 0, Long.MAX_VALUE, 10)).isEmpty();
+        assertThat(store.append("IBM", "1d", List.of())).isZero();
+        assertThat(Files.exists(dir.resolve("IBM"))).isFalse();
+
+        store.append("IBM", "1d", List.of(bar(60, 1)));
+        store.append("AAPL", "1d", List.of(bar(60, 2)));
+        // IBM was closed to make room and is reopened from disk
+        assertThat(store.range("IBM", "1d", 0, Long.MAX_VALUE, 10)).extracting(CandleDto::getC).containsExactly(1.0);
+        assertThat(store.lastTimestamp("MSFT", "1d")).isEqualTo(Long.MIN_VALUE);
+
+        assertThatThrownBy(() -> store.append("..", "1d", List.of(bar(60, 1))))
+                .isInstanceOf(IllegalArgumentException.class);
+        store.close();
+    }
+
+    private static CandleDto bar(long t, double close) {
+        return CandleDto.builder().t(t).o(close).h(close).l(close).c(close).v(100).build();
+    }
+}
@@ -1,6 +1,6 @@
 import './AISummarySidebar.css';
 import { useState, useEffect } from 'react';
-import { newsAPI } from '../services/api';
+import { streamSummary } from '../services/summaryStream';
 
 const AISummarySidebar = ({ symbol, news, onSummaryGenerated, existingSummary }) => {
     const [summary, setSummary] = useState('');
@@ -27,13 +27,19 @@ const AISummarySidebar = ({ symbol, news, onSummaryGenerated, existingSummary })
 
         setSummarizing(true);
         try {
+            // the server ranks and trims these to its prompt budget
             const newsTexts = news.map(article =>
                 `${article.title}. ${article.description || ''}`
-            ).slice(0, 5);
+            ).slice(0, 20);
 
-            const response = await newsAPI.summarize(symbol, newsTexts);
-            if (response.data.success) {
-                const generatedSummary = response.data.data;
+            // render tokens as they arrive, then store the assembled summary
+            let partial = '';
+            setSummary('');
+            const generatedSummary = await streamSummary(symbol, newsTexts, (token) => {
+                partial += token;
+                setSummary(partial);
+            });
+            if (generatedSummary) {
                 setSummary(generatedSummary);
                 if (onSummaryGenerated) {
                     onSummaryGenerated(generatedSummary);
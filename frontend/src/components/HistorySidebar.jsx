@@ -6,19 +6,23 @@ const HistorySidebar = ({ onSelectStock, currentSymbol, refreshKey }) => {
     const [history, setHistory] = useState([]);
     const [isCollapsed, setIsCollapsed] = useState(false);
     const [loadError, setLoadError] = useState(null);
+    const [nextCursor, setNextCursor] = useState(null);
 
     useEffect(() => {
         loadHistory();
     }, [refreshKey]);
 
-    const loadHistory = async () => {
+    // Without a cursor the list restarts from the newest entry; with one the page is appended
+    const loadHistory = async (cursor) => {
         setLoadError(null);
         try {
-            const response = await historyAPI.getHistory();
+            const response = await historyAPI.getHistory(cursor);
             if (response.data.success && response.data.data) {
-                setHistory(response.data.data);
+                const page = response.data.data;
+                setHistory((prev) => (cursor ? [...prev, ...page.items] : page.items));
+                setNextCursor(page.nextCursor);
             } else {
-                setHistory([]);
+                if (!cursor) setHistory([]);
                 setLoadError(response.data.message || 'Failed to load history');
             }
         } catch (error) {
@@ -27,7 +31,7 @@ const HistorySidebar = ({ onSelectStock, currentSymbol, refreshKey }) => {
             if (error.response?.status !== 403 && error.response?.status !== 401) {
                 setLoadError('Failed to load search history');
             }
-            setHistory([]);
+            if (!cursor) setHistory([]);
         }
     };
 
@@ -94,6 +98,11 @@ const HistorySidebar = ({ onSelectStock, currentSymbol, refreshKey }) => {
                             </div>
                         ))
                     )}
+                    {nextCursor && (
+                        <button className="load-more-btn" onClick={() => loadHistory(nextCursor)}>
+                            Load more
+                        </button>
+                    )}
                 </div>
             )}
         </div>
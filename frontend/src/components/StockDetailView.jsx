@@ -5,6 +5,8 @@ import { stockAPI } from '../services/api';
 const StockDetailView = ({ symbol, news, newsLoading }) => {
     const [stockData, setStockData] = useState(null);
     const [loading, setLoading] = useState(false);
+    // Set when the server answered from its last-known-good snapshot
+    const [staleAsOf, setStaleAsOf] = useState(null);
 
     // Collapsible states
     const [showStats, setShowStats] = useState(true);
@@ -33,6 +35,7 @@ const StockDetailView = ({ symbol, news, newsLoading }) => {
             if (response.data.success) {
                 if (news && news.length > 0) {
                     setStockData(response.data.data);
+                    setStaleAsOf(response.data.stale ? response.data.asOf : null);
                 } else if (!newsLoading) {
                     // If news is empty and not loading, clear stock data
                     setStockData(null);
@@ -109,6 +112,7 @@ const StockDetailView = ({ symbol, news, newsLoading }) => {
                     <div className="stock-meta-tags">
                         <span className="meta-tag">{stockData.exchange}</span>
                         <span className="meta-tag">{stockData.sector}</span>
+                        {staleAsOf && <span className="meta-tag">As of {formatTimestamp(staleAsOf)}</span>}
                     </div>
                 </div>
                 <div className="stock-price-compact">
@@ -1,20 +1,9 @@
 import { useEffect, useRef, useState } from 'react';
 import { createChart, ColorType } from 'lightweight-charts';
 import { ensureNSE } from '../utils/formatters';
+import { subscribeCandles } from '../services/candleStream';
 
-// Try direct fetch first, fallback to AllOrigins proxy on failure
-const fetchWithCorsFallback = async (url) => {
-    try {
-        const res = await fetch(url);
-        if (!res.ok) throw new Error(`Network response was not ok (${res.status})`);
-        return await res.json();
-    } catch (err) {
-        const proxyUrl = `https://api.allorigins.win/raw?url=${encodeURIComponent(url)}`;
-        const res = await fetch(proxyUrl);
-        if (!res.ok) throw new Error(`Proxy response was not ok (${res.status})`);
-        return await res.json();
-    }
-};
+const toChartCandle = (c) => ({ time: c.t, open: c.o, high: c.h, low: c.l, close: c.c });
 
 export const useRealtimeChart = (symbol, containerRef) => {
     const chartRef = useRef(null);
@@ -64,69 +53,23 @@ export const useRealtimeChart = (symbol, containerRef) => {
         };
         window.addEventListener('resize', handleResize);
 
-        // 2. Fetch Initial Batch (1 Day, 1 Min intervals)
-        const fetchInitialData = async () => {
-            const nseSymbol = ensureNSE(symbol);
-            try {
-                const url = `https://query1.finance.yahoo.com/v8/finance/chart/${nseSymbol}?interval=1m&range=1d`;
-                const json = await fetchWithCorsFallback(url);
-
-                const result = json.chart.result[0];
-                const quote = result.indicators.quote[0];
-                const timestamps = result.timestamp;
-
-                const formattedData = timestamps.map((ts, i) => ({
-                    time: ts,
-                    open: quote.open[i],
-                    high: quote.high[i],
-                    low: quote.low[i],
-                    close: quote.close[i]
-                })).filter(d => d.open !== null);
-
-                candlestickSeries.setData(formattedData);
+        // 2. Stream from the backend candle hub: one snapshot, then only changed candles
+        const unsubscribe = subscribeCandles(ensureNSE(symbol), {
+            onSnapshot: (candles) => {
+                candlestickSeries.setData(candles.map(toChartCandle));
                 chart.timeScale().fitContent();
-            } catch (err) {
-                console.error('Initial chart data error:', err);
-            } finally {
                 setLoading(false);
-            }
-        };
-
-        // 3. Polling for Real-Time Updates
-        const updateRealtime = async () => {
-            const nseSymbol = ensureNSE(symbol);
-            try {
-                // Fetch latest data point
-                const url = `https://query1.finance.yahoo.com/v8/finance/chart/${nseSymbol}?interval=1m&range=1d`;
-                const json = await fetchWithCorsFallback(url);
-
-                const result = json.chart.result[0];
-                const quote = result.indicators.quote[0];
-                const ts = result.timestamp[result.timestamp.length - 1];
-                const i = result.timestamp.length - 1;
-
-                const newCandle = {
-                    time: ts,
-                    open: quote.open[i],
-                    high: quote.high[i],
-                    low: quote.low[i],
-                    close: quote.close[i]
-                };
-
-                if (newCandle.open !== null) {
-                    candlestickSeries.update(newCandle);
-                }
-            } catch (err) {
-                console.warn('Real-time chart update failed:', err);
-            }
-        };
-
-        fetchInitialData();
-        const interval = setInterval(updateRealtime, 5000); // 5 sec interval
+            },
+            onCandle: (candle) => candlestickSeries.update(toChartCandle(candle)),
+            onError: (err) => {
+                console.warn('Real-time chart stream failed:', err);
+                setLoading(false);
+            },
+        });
 
         return () => {
             window.removeEventListener('resize', handleResize);
-            clearInterval(interval);
+            unsubscribe();
             chart.remove();
         };
     }, [symbol]);
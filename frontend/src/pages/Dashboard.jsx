@@ -4,7 +4,7 @@ import { useTheme } from '../context/ThemeContext';
 import HistorySidebar from '../components/HistorySidebar';
 import StockDetailView from '../components/StockDetailView';
 import AISummarySidebar from '../components/AISummarySidebar';
-import { historyAPI, newsAPI } from '../services/api';
+import { historyAPI, newsAPI, symbolAPI } from '../services/api';
 import './Dashboard.css';
 
 const Dashboard = () => {
@@ -12,6 +12,7 @@ const Dashboard = () => {
     const { theme, toggleTheme } = useTheme();
     const [currentSymbol, setCurrentSymbol] = useState('');
     const [searchInput, setSearchInput] = useState('');
+    const [suggestions, setSuggestions] = useState([]);
     const [currentSummary, setCurrentSummary] = useState('');
     const [historyRefreshKey, setHistoryRefreshKey] = useState(0);
 
@@ -48,10 +49,27 @@ const Dashboard = () => {
 
     // Validate and sanitize input - only allow letters and numbers
     const handleSearchInputChange = (e) => {
-        const value = e.target.value.replace(/[^a-zA-Z0-9.]/g, '').toUpperCase();
+        const value = e.target.value.replace(/[^a-zA-Z0-9.&-]/g, '').toUpperCase();
         setSearchInput(value);
     };
 
+    // Autocomplete from the backend symbol index, debounced per keystroke
+    useEffect(() => {
+        if (!searchInput) {
+            setSuggestions([]);
+            return;
+        }
+        const timer = setTimeout(async () => {
+            try {
+                const response = await symbolAPI.search(searchInput, 8);
+                setSuggestions(response.data.success ? response.data.data : []);
+            } catch {
+                setSuggestions([]);
+            }
+        }, 150);
+        return () => clearTimeout(timer);
+    }, [searchInput]);
+
     const handleSearch = async (e) => {
         e.preventDefault();
         const trimmedSymbol = searchInput.trim();
@@ -62,9 +80,9 @@ const Dashboard = () => {
             return;
         }
 
-        // Only allow alphabetic characters and dots
-        if (!/^[A-Z.]+$/.test(trimmedSymbol)) {
-            alert('Stock symbol should only contain letters and dots (e.g., TCS.NSE)');
+        // Only allow letters, digits, dots, dashes and ampersands
+        if (!/^[A-Z0-9.&-]+$/.test(trimmedSymbol)) {
+            alert('Stock symbol should only contain letters, digits and dots (e.g., TCS.NSE)');
             return;
         }
 
@@ -82,9 +100,18 @@ const Dashboard = () => {
         }
     };
 
-    const handleSelectStock = (historyItem) => {
+    const handleSelectStock = async (historyItem) => {
         setCurrentSymbol(historyItem.symbol);
-        setCurrentSummary(historyItem.aiSummary || '');
+        setCurrentSummary('');
+        // The history list omits summaries; fetch the selected one on demand
+        try {
+            const response = await historyAPI.getHistoryItem(historyItem.id);
+            if (response.data.success && response.data.data) {
+                setCurrentSummary(response.data.data.aiSummary || '');
+            }
+        } catch (error) {
+            console.error('Failed to load history item:', error);
+        }
     };
 
     const handleSummaryGenerated = async (summary) => {
@@ -138,7 +165,15 @@ const Dashboard = () => {
                                 value={searchInput}
                                 onChange={handleSearchInputChange}
                                 maxLength="15"
+                                list="symbol-suggestions"
                             />
+                            <datalist id="symbol-suggestions">
+                                {suggestions.map((match) => (
+                                    <option key={match.symbol} value={match.symbol}>
+                                        {match.name} ({match.exchange})
+                                    </option>
+                                ))}
+                            </datalist>
                             <button type="submit" className="search-btn">
                                 Search Stock
                             </button>
@@ -0,0 +1,38 @@
+import { API_BASE_URL } from './api';
+import { authHeaders, readEventStream } from './sse';
+
+// Subscribes to the current user's triggered price alerts, one "alert" event each.
+export const subscribeAlerts = ({ onAlert, onError }) => {
+    const controller = new AbortController();
+    let retryTimer = null;
+
+    const connect = async () => {
+        try {
+            const res = await fetch(`${API_BASE_URL}/alerts/stream`, {
+                headers: { Accept: 'text/event-stream', ...authHeaders() },
+                credentials: 'include',
+                signal: controller.signal,
+            });
+            if (!res.ok) throw new Error(`Alert stream failed (${res.status})`);
+
+            await readEventStream(res, (event, data) => {
+                if (event === 'alert' && data) onAlert?.(JSON.parse(data));
+            });
+        } catch (err) {
+            if (controller.signal.aborted) return;
+            onError?.(err);
+        }
+
+        // server timed the stream out or the connection dropped
+        if (!controller.signal.aborted) {
+            retryTimer = setTimeout(connect, 3000);
+        }
+    };
+
+    connect();
+
+    return () => {
+        controller.abort();
+        clearTimeout(retryTimer);
+    };
+};
@@ -1,6 +1,6 @@
 import axios from 'axios';
 
-const API_BASE_URL = 'http://localhost:8080/api';
+export const API_BASE_URL = 'http://localhost:8080/api';
 
 const api = axios.create({
     baseURL: API_BASE_URL,
@@ -48,6 +48,11 @@ export const authAPI = {
 
 export const stockAPI = {
     getOverview: (symbol) => api.get(`/stocks/${symbol}/overview`),
+    getQuotes: (symbols) => api.get('/stocks/quotes', { params: { symbols: symbols.join(',') } }),
+};
+
+export const symbolAPI = {
+    search: (q, limit) => api.get('/symbols/search', { params: { q, limit } }),
 };
 
 export const newsAPI = {
@@ -56,9 +61,23 @@ export const newsAPI = {
 };
 
 export const historyAPI = {
-    getHistory: () => api.get('/history'),
+    getHistory: (cursor, limit) => api.get('/history', { params: { cursor, limit } }),
+    getHistoryItem: (id) => api.get(`/history/${id}`),
     addHistory: (symbol, body) => api.post(`/history/${symbol}`, body || {}),
     deleteHistory: (id) => api.delete(`/history/${id}`),
 };
 
+export const watchlistAPI = {
+    getWatchlist: () => api.get('/watchlist'),
+    getQuotes: () => api.get('/watchlist/quotes'),
+    addSymbol: (symbol) => api.post(`/watchlist/${symbol}`),
+    removeSymbol: (symbol) => api.delete(`/watchlist/${symbol}`),
+};
+
+export const alertAPI = {
+    getAlerts: () => api.get('/alerts'),
+    createAlert: (alert) => api.post('/alerts', alert),
+    deleteAlert: (id) => api.delete(`/alerts/${id}`),
+};
+
 export default api;
@@ -0,0 +1,40 @@
+import { API_BASE_URL } from './api';
+import { authHeaders, readEventStream } from './sse';
+
+// Subscribes to the backend candle hub: one snapshot, then only new or updated candles.
+export const subscribeCandles = (symbol, { onSnapshot, onCandle, onError }) => {
+    const controller = new AbortController();
+    let retryTimer = null;
+
+    const connect = async () => {
+        try {
+            const res = await fetch(`${API_BASE_URL}/stocks/${encodeURIComponent(symbol)}/candles/stream`, {
+                headers: { Accept: 'text/event-stream', ...authHeaders() },
+                credentials: 'include',
+                signal: controller.signal,
+            });
+            if (!res.ok) throw new Error(`Candle stream failed (${res.status})`);
+
+            await readEventStream(res, (event, data) => {
+                if (!data) return;
+                if (event === 'snapshot') onSnapshot?.(JSON.parse(data));
+                if (event === 'candle') onCandle?.(JSON.parse(data));
+            });
+        } catch (err) {
+            if (controller.signal.aborted) return;
+            onError?.(err);
+        }
+
+        // server timed the stream out or the connection dropped, reconnect for a fresh snapshot
+        if (!controller.signal.aborted) {
+            retryTimer = setTimeout(connect, 3000);
+        }
+    };
+
+    connect();
+
+    return () => {
+        controller.abort();
+        clearTimeout(retryTimer);
+    };
+};
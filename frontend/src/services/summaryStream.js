@@ -0,0 +1,29 @@
+import { API_BASE_URL } from './api';
+import { authHeaders, readEventStream } from './sse';
+
+// Streams an AI summary: onToken gets text as it arrives, the promise resolves
+// with the assembled summary from the final "summary" event.
+export const streamSummary = async (symbol, newsTexts, onToken) => {
+    const res = await fetch(`${API_BASE_URL}/news/${encodeURIComponent(symbol)}/summarize/stream`, {
+        method: 'POST',
+        headers: {
+            'Content-Type': 'application/json',
+            Accept: 'text/event-stream',
+            ...authHeaders(),
+        },
+        credentials: 'include',
+        body: JSON.stringify(newsTexts),
+    });
+    if (!res.ok) throw new Error(`Summary stream failed (${res.status})`);
+
+    let summary = null;
+    let error = null;
+    await readEventStream(res, (event, data) => {
+        if (event === 'token') onToken(data);
+        if (event === 'summary') summary = data;
+        if (event === 'error') error = data;
+    });
+
+    if (error) throw new Error(error);
+    return summary;
+};